@@ -11,6 +11,8 @@ implicit class RichDependency(d: Dependency) {
 
 object Deps {
   val antContrib = "ant-contrib" % "ant-contrib" % "1.0b3"
+  val jmhCore = "org.openjdk.jmh" % "jmh-core" % "1.21"
+  val jmhGeneratorAnnprocess = "org.openjdk.jmh" % "jmh-generator-annprocess" % "1.21"
   val junit4 = "junit" % "junit" % "4.12"
   // we use the Java7 version here, because the maven site plugin has problems with the java8 version
   val lambdaTest = Dependency("de.tototec" % "de.tobiasroeser.lambdatest" % "0.4.0", classifier = "java7")
@@ -25,8 +27,10 @@ object Deps {
 object Plugins {
   val antrun = "org.apache.maven.plugins" % "maven-antrun-plugin" % "1.8"
   val asciidoctor = "org.asciidoctor" % "asciidoctor-maven-plugin" % "1.5.6"
+  val buildHelper = "org.codehaus.mojo" % "build-helper-maven-plugin" % "3.0.0"
   val clean = "org.apache.maven.plugins" % "maven-clean-plugin" % "3.0.0"
   val deploy = "org.apache.maven.plugins" % "maven-deploy-plugin" % "2.8.2"
+  val exec = "org.codehaus.mojo" % "exec-maven-plugin" % "1.6.0"
   val gpg = "org.apache.maven.plugins" % "maven-gpg-plugin" % "1.6"
   val invoker = "org.apache.maven.plugins" % "maven-invoker-plugin" % "3.0.1"
   val jar = "org.apache.maven.plugins" % "maven-jar-plugin" % "2.5"
@@ -171,6 +175,44 @@ Model(
           )
         )
       )
+    ),
+    // Run the JMH benchmarks from src/jmh/java with: mvn -Pjmh test-compile exec:exec
+    Profile(
+      id = "jmh",
+      properties = Map(
+        "jmh.args" -> "-prof gc"
+      ),
+      dependencies = Seq(
+        Deps.jmhCore % "test",
+        Deps.jmhGeneratorAnnprocess % "test"
+      ),
+      build = BuildBase(
+        plugins = Seq(
+          Plugin(
+            Plugins.buildHelper,
+            executions = Seq(
+              Execution(
+                id = "add-jmh-sources",
+                phase = "generate-test-sources",
+                goals = Seq("add-test-source"),
+                configuration = Config(
+                  sources = Config(
+                    source = "src/jmh/java"
+                  )
+                )
+              )
+            )
+          ),
+          Plugin(
+            Plugins.exec,
+            configuration = Config(
+              executable = "java",
+              classpathScope = "test",
+              commandlineArgs = "-classpath %classpath org.openjdk.jmh.Main ${jmh.args}"
+            )
+          )
+        )
+      )
     )
   )
 )
@@ -5,14 +5,14 @@ import static de.tobiasroeser.lambdatest.Expect.*
 
 expectEquals(
   basedir.listFiles().collect { it.getName() }.toSet(), 
-  ["build.log", "pom.xml", "verify.groovy", ".project", ".classpath", ".settings"].toSet()
+  ["build.log", "pom.xml", "verify.groovy", "target", ".project", ".classpath", ".settings"].toSet()
 )
 
 settingsdir = new File(basedir, ".settings")
 
 expectEquals(
   settingsdir.listFiles().collect { it.getName() }.toSet(),
-  ["org.eclipse.core.resources.prefs", "org.eclipse.jdt.core.prefs", "org.eclipse.m2e.core.prefs"].toSet()
+  ["org.eclipse.ajdt.core.prefs", "org.eclipse.core.resources.prefs", "org.eclipse.jdt.core.prefs", "org.eclipse.m2e.core.prefs"].toSet()
 )
   
 expectEquals(
@@ -41,6 +41,26 @@ expectEquals(
 		<nature>org.eclipse.ajdt.ui.ajnature</nature>
 		<nature>org.eclipse.m2e.core.maven2Nature</nature>
 	</natures>
+	<filteredResources>
+		<filter>
+			<id>1</id>
+			<name>target</name>
+			<type>14</type>
+			<matcher>
+				<id>org.eclipse.ui.ide.multiFilter</id>
+				<arguments>1.0-name-matches-false-true-(?!(generated-sources|generated-test-sources)\$).*</arguments>
+			</matcher>
+		</filter>
+		<filter>
+			<id>2</id>
+			<name></name>
+			<type>26</type>
+			<matcher>
+				<id>org.eclipse.ui.ide.multiFilter</id>
+				<arguments>1.0-name-matches-false-false-node_modules</arguments>
+			</matcher>
+		</filter>
+	</filteredResources>
 </projectDescription>"""
 )
 
@@ -88,6 +108,8 @@ expectEquals(
 	</classpathentry>
 	<classpathentry kind="con" path="org.eclipse.m2e.MAVEN2_CLASSPATH_CONTAINER">
 		<attributes>
+			<attribute name="org.eclipse.ajdt.aspectpath" value="org.eclipse.ajdt.aspectpath"/>
+			<attribute name="org.eclipse.ajdt.aspectpath.restriction" value="org.apache.servicemix.bundles.spring-aspects-3.2.18.RELEASE_1.jar"/>
 			<attribute name="maven.pomderived" value="true"/>
 		</attributes>
 	</classpathentry>
@@ -122,3 +144,8 @@ org.eclipse.jdt.core.compiler.compliance=1.8
 org.eclipse.jdt.core.compiler.source=1.8"""
 )
 
+expectEquals(
+  Files.readAllLines(new File(settingsdir, "org.eclipse.ajdt.core.prefs").toPath()).join("\n"),
+  """eclipse.preferences.version=1
+org.eclipse.ajdt.core.compiler.useProjectSettings=true"""
+)
@@ -5,7 +5,7 @@ import static de.tobiasroeser.lambdatest.Expect.*
 
 expectEquals(
   basedir.listFiles().collect { it.getName() }.toSet(), 
-  ["build.log", "pom.xml", "verify.groovy", ".project", ".settings"].toSet()
+  ["build.log", "pom.xml", "verify.groovy", "target", ".project", ".settings"].toSet()
 )
 
 settingsdir = new File(basedir, ".settings")
@@ -34,6 +34,26 @@ expectEquals(
 	<natures>
 		<nature>org.eclipse.m2e.core.maven2Nature</nature>
 	</natures>
+	<filteredResources>
+		<filter>
+			<id>1</id>
+			<name>target</name>
+			<type>14</type>
+			<matcher>
+				<id>org.eclipse.ui.ide.multiFilter</id>
+				<arguments>1.0-name-matches-false-true-(?!(classes|generated-sources|generated-test-sources|test-classes)\$).*</arguments>
+			</matcher>
+		</filter>
+		<filter>
+			<id>2</id>
+			<name></name>
+			<type>26</type>
+			<matcher>
+				<id>org.eclipse.ui.ide.multiFilter</id>
+				<arguments>1.0-name-matches-false-false-node_modules</arguments>
+			</matcher>
+		</filter>
+	</filteredResources>
 </projectDescription>"""
 )
 
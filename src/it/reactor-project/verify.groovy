@@ -0,0 +1,32 @@
+import java.io.File
+import java.nio.file.Files
+import java.util.*
+import static de.tobiasroeser.lambdatest.Expect.*
+
+moduleA = new File(basedir, "module-a")
+moduleB = new File(basedir, "module-b")
+
+expectTrue(
+  Files.readAllLines(new File(moduleA, ".project").toPath()).join("\n").contains("""
+	<projects>
+	</projects>
+""")
+)
+
+expectTrue(
+  Files.readAllLines(new File(moduleB, ".project").toPath()).join("\n").contains("""
+	<projects>
+		<project>module-a</project>
+	</projects>
+""")
+)
+
+expectTrue(
+  Files.readAllLines(new File(moduleB, ".classpath").toPath()).join("\n").contains("""
+	<classpathentry combineaccessrules="false" kind="src" path="/module-a">
+		<attributes>
+			<attribute name="maven.pomderived" value="true"/>
+		</attributes>
+	</classpathentry>
+""")
+)
@@ -5,7 +5,7 @@ import static de.tobiasroeser.lambdatest.Expect.*
 
 expectEquals(
   basedir.listFiles().collect { it.getName() }.toSet(),
-  ["build.log", "pom.xml", "verify.groovy", ".project", ".classpath", ".settings", "src"].toSet()
+  ["build.log", "pom.xml", "verify.groovy", "target", ".project", ".classpath", ".settings", "src"].toSet()
 )
 
 settingsdir = new File(basedir, ".settings")
@@ -46,6 +46,26 @@ expectEquals(
 		<nature>org.eclipse.jdt.core.javanature</nature>
 		<nature>org.eclipse.m2e.core.maven2Nature</nature>
 	</natures>
+	<filteredResources>
+		<filter>
+			<id>1</id>
+			<name>target</name>
+			<type>14</type>
+			<matcher>
+				<id>org.eclipse.ui.ide.multiFilter</id>
+				<arguments>1.0-name-matches-false-true-(?!(classes|generated-sources|generated-test-sources|test-classes)\$).*</arguments>
+			</matcher>
+		</filter>
+		<filter>
+			<id>2</id>
+			<name></name>
+			<type>26</type>
+			<matcher>
+				<id>org.eclipse.ui.ide.multiFilter</id>
+				<arguments>1.0-name-matches-false-false-node_modules</arguments>
+			</matcher>
+		</filter>
+	</filteredResources>
 </projectDescription>"""
 )
 
@@ -167,7 +187,7 @@ expectEquals(
 //src/test/resources=tests
 //src/test/binaryResources=tests
 P=
-scala.compiler.additionalParams=\\ -Xsource\\:2.11
+scala.compiler.additionalParams=\\ -Xsource\\:2.11 -deprecation -feature -Xlint -Ywarn-nullary-override
 scala.compiler.installation=2.11
 scala.compiler.sourceLevel=2.11
 scala.compiler.useProjectSettings=true
@@ -0,0 +1,52 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the analyzer chain, which builds the {@link ProjectConfig} from a
+ * Maven project.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnalyzerPipelineBenchmark {
+
+	@Param({ "10", "1000", "10000" })
+	public int roots;
+
+	@Param({ "50" })
+	public int plugins;
+
+	private MavenProject mavenProject;
+	private Log log;
+
+	@Setup
+	public void setup() {
+		mavenProject = BenchmarkFixtures.mavenProject(roots, plugins);
+		log = new BenchmarkFixtures.SilentLog();
+	}
+
+	/**
+	 * Includes the selection of the analyzers triggered by the plugins.
+	 */
+	@Benchmark
+	public ProjectConfig analyze() {
+		final ProjectConfig.Mutable builder = new ProjectConfig.Mutable();
+		for (final MavenProjectAnalyzer analyzer : BenchmarkFixtures.analyzers(mavenProject, log)) {
+			analyzer.analyze(builder, mavenProject);
+		}
+		return builder.build();
+	}
+
+}
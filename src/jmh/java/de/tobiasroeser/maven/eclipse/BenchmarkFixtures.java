@@ -0,0 +1,173 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Synthetic projects of configurable size used by the benchmarks.
+ */
+public abstract class BenchmarkFixtures {
+
+	public static final File BASEDIR = new File("/tmp/eclipse-maven-plugin-benchmark");
+
+	/**
+	 * Creates a Maven project with the given number of source roots and
+	 * resource directories (each for main and test) and the given number of
+	 * build plugins.
+	 */
+	public static MavenProject mavenProject(final int roots, final int plugins) {
+		final MavenProject project = new MavenProject();
+		project.setFile(new File(BASEDIR, "pom.xml"));
+		project.setGroupId("bench");
+		project.setArtifactId("bench-" + roots);
+		project.setVersion("1.0.0");
+		project.setPackaging("jar");
+		project.setName("Benchmark project with " + roots + " roots");
+		project.getProperties().setProperty("project.build.sourceEncoding", "UTF-8");
+		project.getProperties().setProperty("maven.compiler.source", "1.8");
+
+		final Build build = new Build();
+		build.setDirectory(BASEDIR + "/target");
+		build.setOutputDirectory(BASEDIR + "/target/classes");
+		build.setTestOutputDirectory(BASEDIR + "/target/test-classes");
+		project.getModel().setBuild(build);
+
+		for (int i = 0; i < roots; i++) {
+			project.addCompileSourceRoot(BASEDIR + "/target/generated-sources/gen-" + i);
+			project.addTestCompileSourceRoot(BASEDIR + "/target/generated-test-sources/gen-" + i);
+
+			final org.apache.maven.model.Resource resource = new org.apache.maven.model.Resource();
+			resource.setDirectory(BASEDIR + "/src/main/resources-" + i);
+			resource.setIncludes(Arrays.asList("**/*.properties", "**/*.xml"));
+			build.addResource(resource);
+
+			final org.apache.maven.model.Resource testResource = new org.apache.maven.model.Resource();
+			testResource.setDirectory(BASEDIR + "/src/test/resources-" + i);
+			build.addTestResource(testResource);
+		}
+
+		final Set<Artifact> pluginArtifacts = new LinkedHashSet<>();
+		final DefaultArtifactHandler handler = new DefaultArtifactHandler("maven-plugin");
+		for (int i = 0; i < plugins; i++) {
+			final Plugin plugin = new Plugin();
+			plugin.setGroupId("bench.plugins");
+			plugin.setArtifactId("plugin-" + i);
+			plugin.setVersion("1.0.0");
+			build.addPlugin(plugin);
+			pluginArtifacts.add(new DefaultArtifact("bench.plugins", "plugin-" + i, "1.0.0", null, "maven-plugin",
+					null, handler));
+		}
+		project.setPluginArtifacts(pluginArtifacts);
+
+		return project;
+	}
+
+	/**
+	 * The analyzers in the same order as used by the eclipse goal.
+	 */
+	public static List<MavenProjectAnalyzer> analyzers(final MavenProject mavenProject, final Log log) {
+		final List<MavenProjectAnalyzer> analyzers = new ArrayList<>();
+		analyzers.add(new MinimalPomAnalyzer(log));
+		analyzers.add(new JavaProjectAnalyzer(log, true));
+		analyzers.addAll(AnalyzerProviders.analyzers(mavenProject, log, true, null, null));
+		analyzers.add(new M2eProjectAnalyzer(log, true));
+		return analyzers;
+	}
+
+	public static ProjectConfig projectConfig(final MavenProject mavenProject) {
+		final ProjectConfig.Mutable builder = new ProjectConfig.Mutable();
+		for (final MavenProjectAnalyzer analyzer : analyzers(mavenProject, new SilentLog())) {
+			analyzer.analyze(builder, mavenProject);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * A log discarding all messages, so that logging does not influence the
+	 * measurements.
+	 */
+	public static class SilentLog implements Log {
+
+		@Override
+		public boolean isDebugEnabled() {
+			return false;
+		}
+
+		@Override
+		public void debug(final CharSequence content) {
+		}
+
+		@Override
+		public void debug(final CharSequence content, final Throwable error) {
+		}
+
+		@Override
+		public void debug(final Throwable error) {
+		}
+
+		@Override
+		public boolean isInfoEnabled() {
+			return false;
+		}
+
+		@Override
+		public void info(final CharSequence content) {
+		}
+
+		@Override
+		public void info(final CharSequence content, final Throwable error) {
+		}
+
+		@Override
+		public void info(final Throwable error) {
+		}
+
+		@Override
+		public boolean isWarnEnabled() {
+			return false;
+		}
+
+		@Override
+		public void warn(final CharSequence content) {
+		}
+
+		@Override
+		public void warn(final CharSequence content, final Throwable error) {
+		}
+
+		@Override
+		public void warn(final Throwable error) {
+		}
+
+		@Override
+		public boolean isErrorEnabled() {
+			return false;
+		}
+
+		@Override
+		public void error(final CharSequence content) {
+		}
+
+		@Override
+		public void error(final CharSequence content, final Throwable error) {
+		}
+
+		@Override
+		public void error(final Throwable error) {
+		}
+
+	}
+
+}
@@ -0,0 +1,61 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the relativization of paths against the project base directory,
+ * comparing {@link Util#relativePath(java.io.File, String)} with the
+ * {@link PathRelativizer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RelativePathBenchmark {
+
+	private final String absolutePath = BenchmarkFixtures.BASEDIR + "/target/generated-sources/annotations";
+	private final String outsidePath = "/opt/shared/generated-sources";
+	private final String relativePath = "src/main/java";
+
+	private final PathRelativizer relativizer = new PathRelativizer(BenchmarkFixtures.BASEDIR);
+
+	@Benchmark
+	public String absolute() {
+		return Util.relativePath(BenchmarkFixtures.BASEDIR, absolutePath);
+	}
+
+	@Benchmark
+	public String outside() {
+		return Util.relativePath(BenchmarkFixtures.BASEDIR, outsidePath);
+	}
+
+	@Benchmark
+	public String relative() {
+		return Util.relativePath(BenchmarkFixtures.BASEDIR, relativePath);
+	}
+
+	@Benchmark
+	public String relativizerAbsolute() {
+		return relativizer.relativePath(absolutePath);
+	}
+
+	@Benchmark
+	public String relativizerRelative() {
+		return relativizer.relativePath(relativePath);
+	}
+
+	/**
+	 * Relativizes without the cache, to measure the uncached path comparison.
+	 */
+	@Benchmark
+	public String relativizerAbsoluteUncached() {
+		return new PathRelativizer(BenchmarkFixtures.BASEDIR).relativePath(absolutePath);
+	}
+
+}
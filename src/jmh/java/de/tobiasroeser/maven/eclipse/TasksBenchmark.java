@@ -0,0 +1,60 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.tototec.utils.functional.Optional;
+
+/**
+ * Measures the file generators of {@link Tasks}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TasksBenchmark {
+
+	@Param({ "10", "1000", "10000" })
+	public int roots;
+
+	private ProjectConfig projectConfig;
+	private Tasks tasks;
+
+	@Setup
+	public void setup() {
+		projectConfig = BenchmarkFixtures.projectConfig(BenchmarkFixtures.mavenProject(roots, 10));
+		tasks = new Tasks(BenchmarkFixtures.BASEDIR, Optional.none());
+	}
+
+	@Benchmark
+	public StringBuilder generateClasspathFileContent() {
+		final StringBuilder out = new StringBuilder();
+		tasks.generateClasspathFileContent(out, projectConfig, Optional.none(),
+				BenchmarkFixtures.BASEDIR + "/target/classes",
+				BenchmarkFixtures.BASEDIR + "/target/test-classes",
+				true);
+		return out;
+	}
+
+	@Benchmark
+	public StringBuilder generateSettingOrgEclipseCoreResourcesPrefs() {
+		final StringBuilder out = new StringBuilder();
+		tasks.generateSettingOrgEclipseCoreResourcesPrefs(out, projectConfig);
+		return out;
+	}
+
+	@Benchmark
+	public StringBuilder generateProjectFile() {
+		final StringBuilder out = new StringBuilder();
+		tasks.generateProjectFile(out, projectConfig);
+		return out;
+	}
+
+}
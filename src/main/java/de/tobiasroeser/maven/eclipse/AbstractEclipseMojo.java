@@ -0,0 +1,955 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tototec.utils.functional.FList.contains;
+import static de.tototec.utils.functional.FList.exists;
+import static de.tototec.utils.functional.FList.filter;
+import static de.tototec.utils.functional.FList.foreach;
+import static de.tototec.utils.functional.FList.map;
+import static de.tototec.utils.functional.FList.mkString;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectDependenciesResolver;
+import org.eclipse.aether.RepositorySystem;
+
+import de.tototec.utils.functional.Optional;
+import de.tototec.utils.functional.Procedure1;
+
+/**
+ * Parameters and generation logic shared by all goals generating Eclipse
+ * project files.
+ */
+public abstract class AbstractEclipseMojo extends AbstractMojo {
+
+	private static final String ORG_ECLIPSE_JDT_CORE_PREFS = "org.eclipse.jdt.core.prefs";
+	private static final String ORG_ECLIPSE_CORE_RESOURCES_PREFS = "org.eclipse.core.resources.prefs";
+	private static final String ORG_ECLIPSE_M2E_CORE_PREFS = "org.eclipse.m2e.core.prefs";
+	private static final String FINGERPRINT_FILE = "eclipse-maven-plugin.fingerprint";
+	private static final String INPUTS_FILE = "eclipse-maven-plugin.inputs";
+	private static final String METRICS_FILE = "eclipse-metrics.json";
+
+	@Parameter(defaultValue = "${plugin}", readonly = true)
+	private PluginDescriptor pluginDescriptor;
+
+	@Parameter(defaultValue = "${session}", readonly = true, required = true)
+	private MavenSession session;
+
+	/**
+	 * The output directory e.g. for compiled classes. This setting can be
+	 * overridden with {@link #alternativeOutput}. Defaults to
+	 * <code>${project.build.outputDirectory}</code> of each project.
+	 */
+	@Parameter(required = false, property = "eclipse.outputDirectory")
+	private String outputDirectory;
+
+	/**
+	 * The test output directory e.g. for compiled test classes. This setting
+	 * can be overridden with {@link #alternativeOutput}. Defaults to
+	 * <code>${project.build.testOutputDirectory}</code> of each project.
+	 */
+	@Parameter(required = false, property = "eclipse.testOutputDirectory")
+	private String testOutputDirectory;
+
+	/**
+	 * Use the alternative build output directory.
+	 */
+	@Parameter(required = false, property = "eclipse.alternativeOutput")
+	private String alternativeOutput;
+
+	/**
+	 * Should the generated source paths be optional.
+	 */
+	@Parameter(required = false, property = "eclipse.sourcesOptional", defaultValue = "true")
+	private boolean sourcesOptional = true;
+
+	/**
+	 * When <code>true</code>, no files will be written but their content will
+	 * be written to the log/console.
+	 */
+	@Parameter(required = false, property = "eclipse.dryrun", defaultValue = "false")
+	private boolean dryrun = false;
+
+	/**
+	 * When <code>true</code>, files whose content would not change are not
+	 * written at all, which preserves their timestamps and avoids unnecessary
+	 * workspace refreshes in Eclipse. Changed files are written atomically.
+	 */
+	@Parameter(required = false, property = "eclipse.skipUnchanged", defaultValue = "true")
+	private boolean skipUnchanged = true;
+
+	/**
+	 * When <code>true</code>, a fingerprint of all inputs (project model,
+	 * plugin parameters, settings templates, JDK and plugin version) is stored
+	 * in the build directory and the generation is skipped, if the inputs did
+	 * not change since the last run and all generated files are unmodified.
+	 * Otherwise, only the files whose generator inputs or content changed are
+	 * generated again, and files no longer generated are deleted. Set to
+	 * <code>false</code> to force regeneration of all files.
+	 */
+	@Parameter(required = false, property = "eclipse.incremental", defaultValue = "true")
+	private boolean incremental = true;
+
+	/**
+	 * When <code>true</code>, all written files are synced to the storage
+	 * device before they replace the previous files. This is safer in case of
+	 * a system crash, but can be notably slower, e.g. on network file systems.
+	 */
+	@Parameter(required = false, property = "eclipse.fsync", defaultValue = "false")
+	private boolean fsync = false;
+
+	/**
+	 * When <code>true</code>, the time spent in the analyzers, loading the
+	 * settings templates and generating each file is reported as a table.
+	 */
+	@Parameter(required = false, property = "eclipse.metrics", defaultValue = "false")
+	private boolean metrics = false;
+
+	/**
+	 * When <code>true</code>, the measured times are also written as JSON to
+	 * <code>eclipse-metrics.json</code> in the build directory of each
+	 * project, e.g. to aggregate them across the reactor in CI.
+	 */
+	@Parameter(required = false, property = "eclipse.metricsJson", defaultValue = "false")
+	private boolean metricsJson = false;
+
+	/**
+	 * If <code>true</code>, execution is skipped and nothings will be
+	 * generated.
+	 */
+	@Parameter(required = false, property = "eclipse.skip", defaultValue = "false")
+	private boolean skip = false;
+
+	/**
+	 * When <code>true</code>, the predefined default builders will be added to
+	 * the eclipse project.
+	 */
+	@Parameter(required = false, property = "eclipse.defaultBuilders", defaultValue = "true")
+	private boolean defaultBuilders = true;
+
+	/**
+	 * When <code>true</code>, the predefined default natures will be added to
+	 * the eclipse project.
+	 */
+	@Parameter(required = false, property = "eclipse.defaultNatures", defaultValue = "true")
+	private boolean defaultNatures = true;
+
+	/**
+	 * Add additional builders to the eclipse project.
+	 */
+	@Parameter(required = false, property = "eclipse.extraBuilders")
+	private List<String> extraBuilders = new LinkedList<String>();
+
+	/**
+	 * Add additional natures to the eclipse project.
+	 */
+	@Parameter(required = false, property = "eclipse.extraNatures")
+	private List<String> extraNatures = new LinkedList<String>();
+
+	/**
+	 * Add additional source directories to the eclipse project.
+	 */
+	@Parameter(required = false, property = "eclipse.extraSources")
+	private List<String> extraSources = new LinkedList<String>();
+
+	/**
+	 * Add additional resource directories to the eclipse project.
+	 */
+	@Parameter(required = false, property = "eclipse.extraResources")
+	private List<String> extraResources = new LinkedList<String>();
+
+	/**
+	 * Add additional test source directories to the eclipse project.
+	 */
+	@Parameter(required = false, property = "eclipse.extraTestSources")
+	private List<String> extraTestSources = new LinkedList<String>();
+
+	/**
+	 * Add additional test resource directories to the eclipse project.
+	 */
+	@Parameter(required = false, property = "eclipse.extraTestResources")
+	private List<String> extraTestResources = new LinkedList<String>();
+
+	/**
+	 * Try to auto-detect additional builders and natures.
+	 */
+	@Parameter(required = false, property = "eclipse.autodetect", defaultValue = "true")
+	private boolean autodetect = true;
+
+	/**
+	 * List of Maven profiles that should be activated in Eclipse.
+	 */
+	@Parameter(required = false, property = "eclipse.activeProfiles")
+	private List<String> activeProfiles = new LinkedList<String>();
+
+	/**
+	 * Map of settings file templates, which will be placed in the '.settings'
+	 * directory. The map entry key is the settings file name. The map entry
+	 * value is the template file. Settings files listed here will be used as
+	 * is, even if this plugin would otherwise generate them based on the maven
+	 * setup.
+	 */
+	@Parameter(required = false, property = "eclipse.settingsTemplates")
+	private Map<String, String> settingsTemplates = new LinkedHashMap<>();
+
+	/**
+	 * A directory containing files, which should be placed into the '.settings'
+	 * directory. This works almost like {@link #settingsTemplates}, but
+	 * auto-scans the directory.
+	 */
+	@Parameter(required = false, property = "eclipse.settingsTemplatesDir")
+	private File settingsTemplatesDir;
+
+	/**
+	 * When <code>true</code>, the other projects of the reactor, the project
+	 * depends on, are added as project references to the
+	 * <code>.project</code> file. This lets Eclipse build the projects in
+	 * the right order.
+	 */
+	@Parameter(required = false, property = "eclipse.projectReferences", defaultValue = "false")
+	private boolean projectReferences = false;
+
+	/**
+	 * When <code>true</code>, the other projects of the reactor, the project
+	 * depends on, are added as <code>src</code> entries to the
+	 * <code>.classpath</code> file, so that they are resolved without the m2e
+	 * classpath container.
+	 */
+	@Parameter(required = false, property = "eclipse.projectClasspathEntries", defaultValue = "false")
+	private boolean projectClasspathEntries = false;
+
+	/**
+	 * When <code>true</code>, the dependencies are resolved at generation
+	 * time and added as <code>lib</code> entries (with attached sources jar,
+	 * if present in the local repository) to the <code>.classpath</code>
+	 * file. Dependencies to other reactor projects are added as project
+	 * entries. The m2e nature, builder and classpath container are omitted,
+	 * so Eclipse opens the project without any Maven dependency resolution.
+	 * Re-run the generation after changing dependencies. As the resolved
+	 * dependencies are not part of the fingerprint, the {@link #incremental}
+	 * up-to-date check is skipped.
+	 */
+	@Parameter(required = false, property = "eclipse.staticClasspath", defaultValue = "false")
+	private boolean staticClasspath = false;
+
+	@Component
+	private ProjectDependenciesResolver dependenciesResolver;
+
+	/**
+	 * When <code>true</code>, the source roots below
+	 * <code>generated-sources</code> and <code>generated-test-sources</code>
+	 * in the build directory are added as optional source entries, even if
+	 * the generators did not run in the current Maven invocation.
+	 */
+	@Parameter(required = false, property = "eclipse.discoverGeneratedSources", defaultValue = "false")
+	private boolean discoverGeneratedSources = false;
+
+	/**
+	 * When <code>true</code>, JDT annotation processing is configured for
+	 * the <code>annotationProcessorPaths</code> of the
+	 * maven-compiler-plugin, by generating the <code>.factorypath</code> and
+	 * <code>.settings/org.eclipse.jdt.apt.core.prefs</code> files. If the
+	 * processors can not be resolved, a warning is logged and annotation
+	 * processing is not configured, until the next run succeeds to resolve
+	 * them.
+	 */
+	@Parameter(required = false, property = "eclipse.annotationProcessing", defaultValue = "true")
+	private boolean annotationProcessing = true;
+
+	/**
+	 * When <code>true</code>, the annotation processors also run while
+	 * editing a file in Eclipse, not only on build. This keeps generated
+	 * code up to date at the cost of slower editing.
+	 */
+	@Parameter(required = false, property = "eclipse.aptReconcile", defaultValue = "false")
+	private boolean aptReconcile = false;
+
+	@Component
+	private RepositorySystem repositorySystem;
+
+	/**
+	 * When <code>true</code>, resource filters are added to the
+	 * <code>.project</code> file, so that Eclipse does not load large trees
+	 * into its workspace: the content of the build directory (except output,
+	 * source and generated source directories), <code>node_modules</code>
+	 * folders, the Node installation of the frontend-maven-plugin and the
+	 * {@link #resourceFilterExcludes}.
+	 */
+	@Parameter(required = false, property = "eclipse.resourceFilters", defaultValue = "true")
+	private boolean resourceFilters = true;
+
+	/**
+	 * Additional files or folders to hide from Eclipse. A name or wildcard
+	 * pattern, e.g. <code>*.log</code>, matches in all folders of the
+	 * project, a path relative to the project, e.g.
+	 * <code>src/test/fixtures</code>, matches exactly that resource.
+	 */
+	@Parameter(required = false, property = "eclipse.resourceFilterExcludes")
+	private List<String> resourceFilterExcludes = new LinkedList<String>();
+
+	/**
+	 * When <code>true</code>, the execution root project gets a
+	 * <code>.mvn/lifecycle-mapping-metadata.xml</code> file, which tells m2e
+	 * to ignore the executions of expensive plugins (e.g. enforcer, license,
+	 * frontend, checkstyle) of all projects of the reactor. With
+	 * {@link #discoverGeneratedSources}, code generators are ignored, too.
+	 */
+	@Parameter(required = false, property = "eclipse.lean", defaultValue = "false")
+	private boolean lean = false;
+
+	/**
+	 * Additional plugins (<code>groupId:artifactId</code>), whose executions
+	 * m2e should ignore in {@link #lean} mode.
+	 */
+	@Parameter(required = false, property = "eclipse.leanIgnoredPlugins")
+	private List<String> leanIgnoredPlugins = new LinkedList<String>();
+
+	/**
+	 * When <code>false</code>, the m2e builder, which runs the plugin
+	 * executions of the project on every build in Eclipse, is omitted. The m2e
+	 * nature and classpath container are kept.
+	 */
+	@Parameter(required = false, property = "eclipse.mavenBuilder", defaultValue = "true")
+	private boolean mavenBuilder = true;
+
+	/**
+	 * When <code>true</code>, Eclipse does not report optional compiler
+	 * problems (e.g. unused imports) of source roots below the build
+	 * directory, which typically contain generated code.
+	 */
+	@Parameter(required = false, property = "eclipse.ignoreGeneratedProblems", defaultValue = "true")
+	private boolean ignoreGeneratedProblems = true;
+
+	/**
+	 * Glob patterns of additional source roots (relative to the project),
+	 * whose optional compiler problems Eclipse should not report, e.g.
+	 * <code>src/gen/**</code>. A pattern starting with <code>!</code>
+	 * excludes the matching source roots, also those below the build
+	 * directory, e.g. <code>!target/generated-sources/annotations</code>.
+	 */
+	@Parameter(required = false, property = "eclipse.ignoreOptionalProblems")
+	private List<String> ignoreOptionalProblems = new LinkedList<String>();
+
+	/**
+	 * A predefined set of settings for
+	 * <code>.settings/org.eclipse.jdt.core.prefs</code>. Supported values:
+	 * <ul>
+	 * <li><code>none</code>: no additional settings
+	 * <li><code>fast</code>: disables the most expensive compiler analyses,
+	 * like null analysis, resource leak analysis and unused code detection
+	 * </ul>
+	 * The settings are merged into a settings template of the same file, like
+	 * all other settings derived from the project. The template wins.
+	 */
+	@Parameter(required = false, property = "eclipse.jdtProfile", defaultValue = JdtProfiles.NONE)
+	private String jdtProfile = JdtProfiles.NONE;
+
+	/**
+	 * (Test) resource directories (relative to the project), which Eclipse
+	 * should not copy to the output directory. They are added as class
+	 * folders to the classpath instead and used in place. Includes, excludes
+	 * and filtering of these resources are not applied in Eclipse.
+	 */
+	@Parameter(required = false, property = "eclipse.largeResources")
+	private List<String> largeResources = new LinkedList<String>();
+
+	/**
+	 * When greater than <code>0</code>, all (test) resource directories with
+	 * a total size of more than this number of megabytes are treated like
+	 * {@link #largeResources}. As the sizes are not part of the fingerprint,
+	 * the {@link #incremental} up-to-date check is skipped.
+	 */
+	@Parameter(required = false, property = "eclipse.largeResourcesThreshold", defaultValue = "0")
+	private long largeResourcesThreshold = 0;
+
+	/**
+	 * File name patterns, e.g. <code>*.bin</code>, of resources Eclipse
+	 * should never copy to the output directory. They are added to the JDT
+	 * <code>resourceCopyExclusionFilter</code>.
+	 */
+	@Parameter(required = false, property = "eclipse.resourceCopyExclusions")
+	private List<String> resourceCopyExclusions = new LinkedList<String>();
+
+	public AbstractEclipseMojo() {
+	}
+
+	protected boolean isSkip() {
+		return skip;
+	}
+
+	protected boolean isDryrun() {
+		return dryrun;
+	}
+
+	protected MavenSession getSession() {
+		return session;
+	}
+
+	protected File getSettingsTemplatesDir() {
+		return settingsTemplatesDir;
+	}
+
+	/**
+	 * @return The references between the reactor projects.
+	 */
+	protected ReactorReferences reactorReferences() {
+		return ReactorReferences.of(session);
+	}
+
+	protected boolean isMetrics() {
+		return metrics;
+	}
+
+	protected String outputDirectory(final MavenProject mavenProject) {
+		return Optional.of(outputDirectory).getOrElse(mavenProject.getBuild().getOutputDirectory());
+	}
+
+	protected String testOutputDirectory(final MavenProject mavenProject) {
+		return Optional.of(testOutputDirectory).getOrElse(mavenProject.getBuild().getTestOutputDirectory());
+	}
+
+	protected void extraConfigEnhancements(final ProjectConfig.Mutable projectConfig, final MavenProject mavenProject,
+			final Log log, final GenerationStats stats) {
+		// enhance with config values
+		projectConfig
+				.addSources(extraSources)
+				.addResources(map(extraResources, r -> new Resource().withPath(r)))
+				.addTestSources(extraTestSources)
+				.addTestResources(map(extraTestResources, r -> new Resource().withPath(r)))
+				.addBuilders(map(extraBuilders, b -> new Builder(b, "Explicit Builder from pom")))
+				.addNatures(map(extraNatures, n -> new Nature(n, "Explicit Nature from pom")));
+
+		final Optional<Map<String, String>> profile = JdtProfiles.settings(jdtProfile);
+		if (profile.isEmpty()) {
+			throw new RuntimeMojoException(new MojoExecutionException("Unsupported jdtProfile: " + jdtProfile
+					+ ". Supported: " + JdtProfiles.NONE + ", " + JdtProfiles.FAST));
+		}
+		// settings derived from the project win over the profile
+		profile.get().forEach((k, v) -> {
+			if (!projectConfig.getJdtSettings().containsKey(k)) {
+				projectConfig.putJdtSetting(k, v);
+			}
+		});
+
+		final GenerationStats.Timer timer = stats.time("load templates");
+		try {
+			final Map<String, File> templates = collectTemplates(mavenProject.getBasedir());
+
+			// Read template files, most likely already cached by another module
+			final Map<File, List<String>> contents;
+			try {
+				contents = TemplateCache.getInstance().load(templates.values());
+			} catch (final IOException e) {
+				throw new RuntimeMojoException(
+						new MojoExecutionException(e.getMessage(), e));
+			}
+			for (final Entry<String, File> entry : templates.entrySet()) {
+				log.debug("Processing template file: " + entry.getValue());
+				projectConfig.addSettingsFile(new SettingsFile(entry.getKey(), contents.get(entry.getValue())));
+			}
+		} finally {
+			timer.stop();
+		}
+	}
+
+	/**
+	 * Collects all settings templates. The map key is the settings file name,
+	 * the value is the template file.
+	 */
+	protected Map<String, File> collectTemplates(final File basedir) {
+		final Map<String, File> templates = new LinkedHashMap<>();
+
+		// First, add templates from template dir
+		if (settingsTemplatesDir != null && settingsTemplatesDir.exists()) {
+			final File[] files = Optional.of(settingsTemplatesDir.listFiles()).getOrElse(new File[0]);
+			foreach(filter(files, f -> f.isFile()), f -> templates.put(f.getName(), f));
+		}
+
+		// Second, add explicit settings map
+		foreach(settingsTemplates.entrySet(), entry -> {
+			final File templateFile = Optional.some(new File(entry.getValue()))
+					.map(f -> f.isAbsolute() ? f : new File(basedir, f.getPath())).get();
+			templates.put(entry.getKey(), templateFile);
+		});
+
+		return templates;
+	}
+
+	/**
+	 * @return The plugin executions of all projects of the reactor, m2e
+	 *         should ignore in {@link #lean} mode.
+	 */
+	protected Map<String, Set<String>> ignoredExecutions() {
+		return new LifecycleMapping(discoverGeneratedSources, leanIgnoredPlugins)
+				.ignoredExecutions(reactorProjects());
+	}
+
+	/**
+	 * @return The projects of the reactor.
+	 */
+	protected List<MavenProject> reactorProjects() {
+		return session.getProjects();
+	}
+
+	/**
+	 * Computes a fingerprint over all inputs which influence the generated
+	 * files of the given project: the relevant parts of the Maven project, the
+	 * parameters of this mojo, the content of all settings templates, the
+	 * version of the JDK and the version of this plugin.
+	 */
+	protected Fingerprint computeFingerprint(final MavenProject mavenProject) throws IOException {
+		final Fingerprint fingerprint = new Fingerprint()
+				.add("pluginVersion", pluginDescriptor == null ? null : pluginDescriptor.getVersion())
+				.add("javaVersion", System.getProperty("java.version"))
+				.add("id", mavenProject.getId())
+				.add("packaging", mavenProject.getPackaging())
+				.add("name", mavenProject.getName())
+				.add("description", mavenProject.getDescription())
+				.add("basedir", mavenProject.getBasedir())
+				.add("buildDirectory", mavenProject.getBuild().getDirectory())
+				.addAll("compileSourceRoots", mavenProject.getCompileSourceRoots())
+				.addAll("testCompileSourceRoots", mavenProject.getTestCompileSourceRoots())
+				.addAll("resources", map(mavenProject.getBuild().getResources(),
+						r -> r.getDirectory() + r.getIncludes() + r.getExcludes()))
+				.addAll("testResources", map(mavenProject.getBuild().getTestResources(),
+						r -> r.getDirectory() + r.getIncludes() + r.getExcludes()))
+				.addMap("properties", mavenProject.getProperties())
+				.addAll("dependencies", map(mavenProject.getDependencies(),
+						d -> d.getManagementKey() + ":" + d.getVersion() + ":" + d.getScope()))
+				.addAll("plugins", map(mavenProject.getBuildPlugins(),
+						p -> p.getId() + p.getConfiguration() + map(p.getExecutions(),
+								e -> e.getId() + e.getGoals() + e.getConfiguration())));
+
+		// mojo parameters
+		fingerprint
+				.add("outputDirectory", outputDirectory(mavenProject))
+				.add("testOutputDirectory", testOutputDirectory(mavenProject))
+				.add("alternativeOutput", alternativeOutput)
+				.add("sourcesOptional", sourcesOptional)
+				.add("defaultBuilders", defaultBuilders)
+				.add("defaultNatures", defaultNatures)
+				.addAll("extraBuilders", extraBuilders)
+				.addAll("extraNatures", extraNatures)
+				.addAll("extraSources", extraSources)
+				.addAll("extraResources", extraResources)
+				.addAll("extraTestSources", extraTestSources)
+				.addAll("extraTestResources", extraTestResources)
+				.add("autodetect", autodetect)
+				.addAll("activeProfiles", activeProfiles)
+				.add("projectReferences", projectReferences)
+				.add("projectClasspathEntries", projectClasspathEntries)
+				.add("staticClasspath", staticClasspath)
+				.add("discoverGeneratedSources", discoverGeneratedSources)
+				.add("annotationProcessing", annotationProcessing)
+				.add("aptReconcile", aptReconcile)
+				.add("resourceFilters", resourceFilters)
+				.addAll("resourceFilterExcludes", resourceFilterExcludes)
+				.add("lean", lean)
+				.addAll("leanIgnoredPlugins", leanIgnoredPlugins)
+				.add("mavenBuilder", mavenBuilder)
+				.add("ignoreGeneratedProblems", ignoreGeneratedProblems)
+				.addAll("ignoreOptionalProblems", ignoreOptionalProblems)
+				.add("jdtProfile", jdtProfile)
+				.addAll("largeResources", largeResources)
+				.add("largeResourcesThreshold", largeResourcesThreshold)
+				.addAll("resourceCopyExclusions", resourceCopyExclusions);
+		if (projectReferences || projectClasspathEntries) {
+			fingerprint.addAll("reactorReferences", reactorReferences().get(mavenProject));
+		}
+		if (lean && mavenProject.isExecutionRoot()) {
+			fingerprint.addAll("ignoredExecutions", ignoredExecutions().entrySet());
+		}
+		if (discoverGeneratedSources) {
+			final GeneratedSourcesAnalyzer generatedSources = new GeneratedSourcesAnalyzer(getLog());
+			fingerprint
+					.addAll("generatedSources", generatedSources.discoverSources(mavenProject))
+					.addAll("generatedTestSources", generatedSources.discoverTestSources(mavenProject));
+		}
+
+		final Map<String, File> templates = collectTemplates(mavenProject.getBasedir());
+		final Map<File, List<String>> contents = TemplateCache.getInstance()
+				.load(filter(templates.values(), f -> f.isFile()));
+		for (final Entry<String, File> template : templates.entrySet()) {
+			fingerprint
+					.add("template:" + template.getKey(), template.getValue())
+					.addAll("template:" + template.getKey(), Optional.of(contents.get(template.getValue()))
+							.getOrElse(Collections.singletonList("<missing>")));
+		}
+
+		return fingerprint;
+	}
+
+	/**
+	 * @return <code>false</code>, if the generated files depend on inputs,
+	 *         which are not part of the fingerprint and need to be computed
+	 *         for each run anyway.
+	 */
+	protected boolean isFingerprintable() {
+		return !staticClasspath && largeResourcesThreshold <= 0;
+	}
+
+	/**
+	 * @return <code>true</code>, if the project files were generated from the
+	 *         exact same inputs before and all files generated by the last
+	 *         run are still present.
+	 */
+	protected boolean isUpToDate(final MavenProject mavenProject, final File fingerprintFile,
+			final Fingerprint fingerprint) throws IOException {
+		final File basedir = mavenProject.getBasedir();
+		if (!fingerprintFile.isFile() || !new File(basedir, ".project").isFile()) {
+			return false;
+		}
+		if (!"pom".equals(mavenProject.getPackaging()) && !new File(basedir, ".classpath").isFile()) {
+			return false;
+		}
+		final File inputsFile = new File(mavenProject.getBuild().getDirectory(), INPUTS_FILE);
+		if (!inputsFile.isFile() || !new GeneratorInputsStore(inputsFile, getLog()).getModifiedFiles().isEmpty()) {
+			return false;
+		}
+		final String previous = new String(Files.readAllBytes(fingerprintFile.toPath()), StandardCharsets.UTF_8);
+		return previous.trim().equals(fingerprint.toHex());
+	}
+
+	/**
+	 * Generates all Eclipse project files for the given project.
+	 *
+	 * @param mavenProject
+	 *            The project.
+	 * @param log
+	 *            The log to use for all messages related to this project.
+	 * @param stats
+	 *            Statistics about the generated files, updated while
+	 *            generating.
+	 */
+	protected void generate(final MavenProject mavenProject, final Log log, final GenerationStats stats)
+			throws MojoExecutionException, MojoFailureException {
+		final GenerationStats.Timer timer = stats.time("total");
+		try {
+			generateProject(mavenProject, log, stats);
+		} finally {
+			timer.stop();
+		}
+
+		if (metrics) {
+			stats.logMetrics(log, "Eclipse generation metrics for project " + mavenProject.getId() + ":");
+		}
+		if (metricsJson && !dryrun) {
+			final File metricsFile = new File(mavenProject.getBuild().getDirectory(), METRICS_FILE);
+			try {
+				metricsFile.getParentFile().mkdirs();
+				Util.writeAtomically(metricsFile, stats.toJson(mavenProject.getId()).getBytes(StandardCharsets.UTF_8));
+			} catch (final IOException e) {
+				log.warn("Could not write metrics file: " + metricsFile, e);
+			}
+		}
+	}
+
+	private void generateProject(final MavenProject mavenProject, final Log log, final GenerationStats stats)
+			throws MojoExecutionException, MojoFailureException {
+		// We handle wrapped mojo exceptions here
+		try {
+			final File basedir = mavenProject.getBasedir();
+			final Tasks tasks = new Tasks(basedir, Optional.of(log));
+
+			final File fingerprintFile = new File(mavenProject.getBuild().getDirectory(), FINGERPRINT_FILE);
+			Optional<Fingerprint> fingerprint = Optional.none();
+			if (incremental && !dryrun && isFingerprintable()) {
+				final GenerationStats.Timer timer = stats.time("fingerprint");
+				try {
+					fingerprint = Optional.some(computeFingerprint(mavenProject));
+					if (isUpToDate(mavenProject, fingerprintFile, fingerprint.get())) {
+						log.info("Eclipse project files are up-to-date");
+						stats.upToDate();
+						return;
+					}
+				} catch (final IOException e) {
+					log.debug("Could not check fingerprint: " + fingerprintFile, e);
+				} finally {
+					timer.stop();
+				}
+			}
+
+			final String packaging = mavenProject.getPackaging();
+
+			final List<MavenProjectAnalyzer> analyzers = new ArrayList<>();
+			analyzers.add(new MinimalPomAnalyzer(log));
+			analyzers.add(new JavaProjectAnalyzer(log, defaultBuilders));
+			analyzers.addAll(AnalyzerProviders.analyzers(mavenProject, log, autodetect, repositorySystem,
+					session.getRepositorySession()));
+			if (annotationProcessing) {
+				analyzers.add(new AnnotationProcessingAnalyzer(log, repositorySystem,
+						session.getRepositorySession(), aptReconcile));
+			}
+			analyzers.add(new ExtraConfigAnalyzer(log, stats));
+			analyzers.add(new M2eProjectAnalyzer(log, defaultBuilders && !staticClasspath, mavenBuilder));
+			if (projectReferences || projectClasspathEntries) {
+				analyzers.add(new ReactorProjectAnalyzer(log, reactorReferences(),
+						projectReferences, projectClasspathEntries));
+			}
+			if (discoverGeneratedSources) {
+				analyzers.add(new GeneratedSourcesAnalyzer(log));
+			}
+			if (staticClasspath) {
+				analyzers.add(new StaticClasspathAnalyzer(log, session, dependenciesResolver));
+			}
+			if (resourceFilters) {
+				analyzers.add(new ResourceFilterAnalyzer(log, alternativeOutput != null
+						? Collections.singletonList(alternativeOutput)
+						: Arrays.asList(outputDirectory(mavenProject), testOutputDirectory(mavenProject)),
+						resourceFilterExcludes));
+			}
+			if (!largeResources.isEmpty() || largeResourcesThreshold > 0 || !resourceCopyExclusions.isEmpty()) {
+				analyzers.add(new LargeResourcesAnalyzer(log, largeResources, largeResourcesThreshold * 1024 * 1024,
+						resourceCopyExclusions));
+			}
+			if (ignoreGeneratedProblems || !ignoreOptionalProblems.isEmpty()) {
+				analyzers.add(new IgnoreOptionalProblemsAnalyzer(log, ignoreGeneratedProblems, ignoreOptionalProblems));
+			}
+
+			final ProjectConfig.Mutable projectConfigBuilder = new ProjectConfig.Mutable();
+			foreach(analyzers, a -> {
+				final GenerationStats.Timer timer = stats.time("analyze " + a.getClass().getSimpleName());
+				try {
+					a.analyze(projectConfigBuilder, mavenProject);
+				} finally {
+					timer.stop();
+				}
+			});
+			final ProjectConfig projectConfig = projectConfigBuilder.build();
+
+			if (!projectConfig.getIncompleteReasons().isEmpty() && fingerprint.isDefined()) {
+				log.debug("Not storing a fingerprint of the incomplete project config: "
+						+ mkString(projectConfig.getIncompleteReasons(), ", "));
+				fingerprint = Optional.none();
+				if (fingerprintFile.exists() && !fingerprintFile.delete()) {
+					log.warn("Could not delete fingerprint file: " + fingerprintFile);
+				}
+			}
+
+			final List<String> settingsFileNames = map(projectConfig.getSettingsFiles(), s -> s.getName());
+
+			log.debug("Final eclipse project config: " + projectConfig);
+
+			final OutputSink sink = new OutputSink(log, stats, dryrun, skipUnchanged, fsync);
+			final Optional<GeneratorInputsStore> inputsStore = incremental && !dryrun
+					? Optional.some(new GeneratorInputsStore(
+							new File(mavenProject.getBuild().getDirectory(), INPUTS_FILE), log))
+					: Optional.none();
+			final FileGenerator generator = new FileGenerator(sink, inputsStore, log, stats);
+
+			final File projectFile = new File(basedir, ".project");
+			generator.generate(projectFile, tasks.projectFileInputs(projectConfig), out -> {
+				tasks.generateProjectFile(out, projectConfig);
+			});
+
+			if (!contains(settingsFileNames, ORG_ECLIPSE_M2E_CORE_PREFS)) {
+				generator.generate(new File(basedir, ".settings/" + ORG_ECLIPSE_M2E_CORE_PREFS),
+						tasks.settingOrgEclipseM2eCorePrefsInputs(activeProfiles),
+						out -> {
+							tasks.generateSettingOrgEclipseM2eCorePrefs(out, activeProfiles);
+						});
+			}
+
+			if (!contains(settingsFileNames, ORG_ECLIPSE_CORE_RESOURCES_PREFS)) {
+				generator.generate(new File(basedir, ".settings/" + ORG_ECLIPSE_CORE_RESOURCES_PREFS),
+						tasks.settingOrgEclipseCoreResourcesPrefsInputs(projectConfig),
+						out -> {
+							tasks.generateSettingOrgEclipseCoreResourcesPrefs(out, projectConfig);
+						});
+			}
+
+			if (!"pom".equals(packaging)) {
+				final File classpathFile = new File(basedir, ".classpath");
+				generator.generate(classpathFile,
+						tasks.classpathFileInputs(projectConfig, Optional.of(alternativeOutput),
+								outputDirectory(mavenProject), testOutputDirectory(mavenProject), sourcesOptional),
+						out -> {
+							tasks.generateClasspathFileContent(
+									out, projectConfig,
+									Optional.of(alternativeOutput),
+									outputDirectory(mavenProject), testOutputDirectory(mavenProject),
+									sourcesOptional);
+						});
+
+				if (!contains(settingsFileNames, ORG_ECLIPSE_JDT_CORE_PREFS)) {
+					generator.generate(new File(basedir, ".settings/" + ORG_ECLIPSE_JDT_CORE_PREFS),
+							tasks.settingOrgEclipseJdtCorePrefsInputs(projectConfig),
+							out -> {
+								tasks.generateSettingOrgEclipseJdtCorePrefs(out, projectConfig);
+							});
+				}
+
+				if (!projectConfig.getFactoryPath().isEmpty()) {
+					generator.generate(new File(basedir, ".factorypath"), tasks.factoryPathInputs(projectConfig),
+							out -> {
+								tasks.generateFactoryPath(out, projectConfig);
+							});
+				}
+			}
+
+			for (final SettingsFile settingsFile : projectConfig.getSettingsFiles()) {
+				// the final JDT settings of all analyzers are merged into a template, the template wins
+				final List<String> content = ORG_ECLIPSE_JDT_CORE_PREFS.equals(settingsFile.getName())
+						? JdtProfiles.merge(settingsFile.getContent(), projectConfig.getJdtSettings())
+						: settingsFile.getContent();
+				generator.generate(new File(basedir, ".settings/" + settingsFile.getName()),
+						new GeneratorInputs().addAll("content", content),
+						out -> {
+							foreach(content, line -> Tasks.line(out, line));
+						});
+			}
+
+			if (lean && mavenProject.isExecutionRoot()) {
+				final Map<String, Set<String>> ignoredExecutions = ignoredExecutions();
+				log.debug("Ignoring plugin executions in m2e: " + ignoredExecutions);
+				generator.generate(new File(basedir, LifecycleMapping.LIFECYCLE_MAPPING_METADATA_FILE),
+						tasks.lifecycleMappingMetadataInputs(ignoredExecutions),
+						out -> {
+							tasks.generateLifecycleMappingMetadata(out, ignoredExecutions);
+						});
+			}
+
+			sink.flush();
+
+			inputsStore.foreach(store -> {
+				for (final File obsolete : store.getObsoleteFiles()) {
+					if (!projectConfig.getIncompleteReasons().isEmpty()) {
+						// e.g. the .factorypath, when the annotation processors could not be resolved
+						store.keep(obsolete);
+					} else if (obsolete.exists() && !obsolete.delete()) {
+						log.warn("Could not delete obsolete file: " + obsolete);
+						store.keep(obsolete);
+					} else {
+						log.debug("Deleted obsolete file: " + obsolete);
+					}
+				}
+				try {
+					store.save();
+				} catch (final IOException e) {
+					log.warn("Could not write generator inputs file: " + INPUTS_FILE, e);
+				}
+			});
+
+			fingerprint.foreach(fp -> {
+				try {
+					fingerprintFile.getParentFile().mkdirs();
+					Util.writeAtomically(fingerprintFile, fp.toHex().getBytes(StandardCharsets.UTF_8));
+				} catch (final IOException e) {
+					log.warn("Could not write fingerprint file: " + fingerprintFile, e);
+				}
+			});
+
+		} catch (final RuntimeMojoException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof MojoExecutionException) {
+				throw (MojoExecutionException) cause;
+			} else if (cause instanceof MojoFailureException) {
+				throw (MojoFailureException) cause;
+			} else {
+				throw e;
+			}
+		}
+
+	}
+
+	/**
+	 * Generates files into a sink, but only if their inputs changed since the
+	 * last generation (if an inputs store is given).
+	 */
+	private class FileGenerator {
+
+		private final OutputSink sink;
+		private final Optional<GeneratorInputsStore> inputsStore;
+		private final Log log;
+		private final GenerationStats stats;
+
+		public FileGenerator(final OutputSink sink, final Optional<GeneratorInputsStore> inputsStore,
+				final Log log, final GenerationStats stats) {
+			this.sink = sink;
+			this.inputsStore = inputsStore;
+			this.log = log;
+			this.stats = stats;
+		}
+
+		/**
+		 * Generates the content of the given file and adds it to the sink.
+		 *
+		 * @param inputs
+		 *            All inputs read by the given generator.
+		 */
+		public void generate(final File file, final GeneratorInputs inputs,
+				final Procedure1<StringBuilder> generator) {
+			// a new plugin version may generate different files
+			inputs.add("pluginVersion", pluginDescriptor == null ? null : pluginDescriptor.getVersion());
+
+			for (final GeneratorInputsStore store : inputsStore) {
+				final List<String> changes = store.changes(file, inputs);
+				if (changes.isEmpty()) {
+					log.debug("Skipping generation of " + file + ": inputs did not change");
+					store.keep(file);
+					stats.unchanged();
+					return;
+				}
+				log.debug("Generating " + file + ": " + mkString(changes, ", "));
+			}
+
+			final GenerationStats.Timer timer = stats.time("generate " + file.getName());
+			try {
+				final StringBuilder out = new StringBuilder(8192);
+				generator.apply(out);
+
+				final ByteBuffer encoded = StandardCharsets.UTF_8.encode(CharBuffer.wrap(out));
+				final byte[] content = Arrays.copyOf(encoded.array(), encoded.limit());
+				sink.add(file, content);
+				inputsStore.foreach(store -> store.put(file, inputs, content));
+			} finally {
+				timer.stop();
+			}
+		}
+
+	}
+
+	/**
+	 * Applies the explicit configuration of this mojo, see
+	 * {@link AbstractEclipseMojo#extraConfigEnhancements}.
+	 */
+	private class ExtraConfigAnalyzer implements MavenProjectAnalyzer {
+
+		private final Log log;
+		private final GenerationStats stats;
+
+		public ExtraConfigAnalyzer(final Log log, final GenerationStats stats) {
+			this.log = log;
+			this.stats = stats;
+		}
+
+		@Override
+		public void analyze(final ProjectConfig.Mutable projectConfig, final MavenProject mavenProject) {
+			extraConfigEnhancements(projectConfig, mavenProject, log, stats);
+		}
+
+	}
+
+}
@@ -0,0 +1,49 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.List;
+
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Service provider of a {@link MavenProjectAnalyzer}, which is only needed
+ * for projects using specific Maven plugins.
+ * <p>
+ * Implementations are discovered with {@link java.util.ServiceLoader} from
+ * the classpath of this plugin, so additional analyzers can be added as
+ * plugin dependencies. Register them in
+ * <code>META-INF/services/de.tobiasroeser.maven.eclipse.AnalyzerProvider</code>.
+ */
+public interface AnalyzerProvider {
+
+	/**
+	 * The keys (<code>groupId:artifactId</code>) of the Maven plugins, which
+	 * trigger the analyzer. The analyzer is only invoked for projects using
+	 * at least one of these plugins. If empty, the analyzer is invoked for
+	 * all projects.
+	 */
+	List<String> getTriggerPlugins();
+
+	/**
+	 * The position of the analyzer relative to the analyzers of the other
+	 * providers. Analyzers with a lower order run first. All these analyzers
+	 * run after the built-in Java analyzer.
+	 */
+	int getOrder();
+
+	/**
+	 * @param autodetect
+	 *            When <code>false</code>, the analyzer must not add any
+	 *            auto-detected builders or natures.
+	 * @param repositorySystem
+	 *            The repository system, to resolve artifacts. Might be
+	 *            <code>null</code>, if not available.
+	 * @param repositorySession
+	 *            The repository session of the Maven build, to resolve
+	 *            artifacts. Might be <code>null</code>, if not available.
+	 */
+	MavenProjectAnalyzer createAnalyzer(Log log, boolean autodetect, RepositorySystem repositorySystem,
+			RepositorySystemSession repositorySession);
+
+}
@@ -0,0 +1,62 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Discovers all {@link AnalyzerProvider}s once and selects the analyzers
+ * triggered by the plugins of a project.
+ */
+public abstract class AnalyzerProviders {
+
+	private static class Holder {
+		static final List<AnalyzerProvider> PROVIDERS = load();
+	}
+
+	private static List<AnalyzerProvider> load() {
+		final List<AnalyzerProvider> providers = new ArrayList<>();
+		for (final AnalyzerProvider provider : ServiceLoader.load(AnalyzerProvider.class,
+				AnalyzerProvider.class.getClassLoader())) {
+			providers.add(provider);
+		}
+		providers.sort(Comparator.comparingInt(AnalyzerProvider::getOrder));
+		return Collections.unmodifiableList(providers);
+	}
+
+	/**
+	 * @return All discovered providers, sorted by their order.
+	 */
+	public static List<AnalyzerProvider> getProviders() {
+		return Holder.PROVIDERS;
+	}
+
+	/**
+	 * Creates the analyzers of all providers triggered by the plugins of the
+	 * given project, in the order of the providers.
+	 */
+	public static List<MavenProjectAnalyzer> analyzers(final MavenProject mavenProject, final Log log,
+			final boolean autodetect, final RepositorySystem repositorySystem,
+			final RepositorySystemSession repositorySession) {
+		final Set<String> pluginKeys = new HashSet<>(mavenProject.getPluginArtifactMap().keySet());
+		final List<MavenProjectAnalyzer> analyzers = new ArrayList<>();
+		for (final AnalyzerProvider provider : getProviders()) {
+			final List<String> triggers = provider.getTriggerPlugins();
+			if (triggers.isEmpty() || !Collections.disjoint(triggers, pluginKeys)) {
+				log.debug("Detected plugin triggering " + provider.getClass().getName());
+				analyzers.add(provider.createAnalyzer(log, autodetect, repositorySystem, repositorySession));
+			}
+		}
+		return analyzers;
+	}
+
+}
@@ -0,0 +1,184 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResolutionException;
+
+import de.tototec.utils.functional.Optional;
+
+/**
+ * Configures JDT APT for the annotation processors of the
+ * maven-compiler-plugin (<code>annotationProcessorPaths</code>).
+ * <p>
+ * The processors are resolved with their dependencies and written to the
+ * <code>.factorypath</code> file. The processor options (<code>-A</code>
+ * compiler arguments) and the generated source directories are written to
+ * <code>org.eclipse.jdt.apt.core.prefs</code>.
+ */
+public class AnnotationProcessingAnalyzer implements MavenProjectAnalyzer {
+
+	public static final String ORG_ECLIPSE_JDT_APT_CORE_PREFS = "org.eclipse.jdt.apt.core.prefs";
+
+	private final Log log;
+	private final RepositorySystem repositorySystem;
+	private final RepositorySystemSession repositorySession;
+	private final boolean reconcile;
+
+	/**
+	 * @param reconcile
+	 *            Run the processors also while editing (reconcile), not only
+	 *            on build.
+	 */
+	public AnnotationProcessingAnalyzer(final Log log, final RepositorySystem repositorySystem,
+			final RepositorySystemSession repositorySession, final boolean reconcile) {
+		this.log = log;
+		this.repositorySystem = repositorySystem;
+		this.repositorySession = repositorySession;
+		this.reconcile = reconcile;
+	}
+
+	@Override
+	public void analyze(final ProjectConfig.Mutable projectConfig, final MavenProject mavenProject) {
+		if ("pom".equals(mavenProject.getPackaging())) {
+			return;
+		}
+		final Optional<PluginConfiguration> plugin = PluginConfiguration.of(mavenProject,
+				JavaProjectAnalyzer.ORG_APACHE_MAVEN_PLUGINS_MAVEN_COMPILER_PLUGIN);
+		if (plugin.isEmpty()) {
+			return;
+		}
+		final PluginConfiguration config = plugin.get();
+
+		final List<Dependency> processors = processorPaths(config);
+		if (processors.isEmpty()) {
+			log.debug("No annotationProcessorPaths configured");
+			return;
+		}
+		if (config.getValue("proc").filter(p -> "none".equals(p)).isDefined()) {
+			log.debug("Annotation processing is disabled (proc=none)");
+			return;
+		}
+
+		final Optional<List<String>> resolved = resolve(processors, mavenProject);
+		if (resolved.isEmpty()) {
+			projectConfig.addIncompleteReason("annotation processors could not be resolved");
+			return;
+		}
+		final List<String> factoryPath = resolved.get();
+		log.debug("Annotation processor factory path: " + factoryPath);
+
+		final String buildDirectory = mavenProject.getBuild().getDirectory();
+		final String genSrcDir = config.getValue("generatedSourcesDirectory")
+				.getOrElse(new File(buildDirectory, "generated-sources/annotations").getPath());
+		final String genTestSrcDir = config.getValue("generatedTestSourcesDirectory")
+				.getOrElse(new File(buildDirectory, "generated-test-sources/test-annotations").getPath());
+
+		final PathRelativizer relativizer = new PathRelativizer(mavenProject.getBasedir());
+		final Map<String, String> settings = new TreeMap<>();
+		settings.put("eclipse.preferences.version", "1");
+		settings.put("org.eclipse.jdt.apt.aptEnabled", "true");
+		settings.put("org.eclipse.jdt.apt.genSrcDir", relativizer.relativePath(genSrcDir));
+		settings.put("org.eclipse.jdt.apt.genTestSrcDir", relativizer.relativePath(genTestSrcDir));
+		settings.put("org.eclipse.jdt.apt.reconcileEnabled", String.valueOf(reconcile));
+		processorOptions(config).forEach((k, v) -> settings.put("org.eclipse.jdt.apt.processorOptions/" + k,
+				Util.escapePrefValue(v)));
+
+		final List<String> lines = new ArrayList<>();
+		settings.forEach((k, v) -> lines.add(k + "=" + v));
+
+		projectConfig
+				.addFactoryPath(factoryPath)
+				.putJdtSetting("org.eclipse.jdt.core.compiler.processAnnotations", "enabled")
+				.addSources(Collections.singletonList(genSrcDir))
+				.addTestSources(Collections.singletonList(genTestSrcDir))
+				.addOptionalSources(Arrays.asList(genSrcDir, genTestSrcDir))
+				.addSettingsFile(new SettingsFile(ORG_ECLIPSE_JDT_APT_CORE_PREFS, lines));
+	}
+
+	protected List<Dependency> processorPaths(final PluginConfiguration config) {
+		final List<Dependency> processors = new ArrayList<>();
+		for (final Xpp3Dom paths : config.getChild("annotationProcessorPaths")) {
+			for (final Xpp3Dom path : paths.getChildren()) {
+				final Optional<String> groupId = value(path, "groupId");
+				final Optional<String> artifactId = value(path, "artifactId");
+				final Optional<String> version = value(path, "version");
+				if (groupId.isDefined() && artifactId.isDefined() && version.isDefined()) {
+					processors.add(new Dependency(new DefaultArtifact(groupId.get(), artifactId.get(),
+							value(path, "classifier").getOrElse(""), value(path, "type").getOrElse("jar"),
+							version.get()), "runtime"));
+				} else {
+					log.warn("Ignoring incomplete annotation processor path: " + path);
+				}
+			}
+		}
+		return processors;
+	}
+
+	/**
+	 * @return The processor options given as <code>-Akey=value</code>
+	 *         compiler arguments.
+	 */
+	protected Map<String, String> processorOptions(final PluginConfiguration config) {
+		final List<String> args = new ArrayList<>(config.getValues("compilerArgs"));
+		config.getValue("compilerArgument").foreach(a -> args.addAll(Arrays.asList(a.split("\\s+"))));
+
+		final Map<String, String> options = new TreeMap<>();
+		for (final String arg : args) {
+			if (arg.startsWith("-A") && arg.length() > 2) {
+				final int eq = arg.indexOf('=');
+				if (eq < 0) {
+					options.put(arg.substring(2), "");
+				} else {
+					options.put(arg.substring(2, eq), arg.substring(eq + 1));
+				}
+			}
+		}
+		return options;
+	}
+
+	/**
+	 * @return The files of the resolved processors and their dependencies, or
+	 *         none, if they could not be resolved.
+	 */
+	protected Optional<List<String>> resolve(final List<Dependency> processors, final MavenProject mavenProject) {
+		final CollectRequest collectRequest = new CollectRequest(processors, null,
+				mavenProject.getRemoteProjectRepositories());
+		final List<String> jars = new ArrayList<>();
+		try {
+			for (final ArtifactResult result : repositorySystem
+					.resolveDependencies(repositorySession, new DependencyRequest(collectRequest, null))
+					.getArtifactResults()) {
+				if (result.getArtifact() != null && result.getArtifact().getFile() != null) {
+					jars.add(result.getArtifact().getFile().getAbsolutePath());
+				}
+			}
+		} catch (final DependencyResolutionException e) {
+			log.warn("Could not resolve annotation processors of project " + mavenProject.getId()
+					+ ". Skipping annotation processing configuration: " + e.getMessage());
+			log.debug(e);
+			return Optional.none();
+		}
+		return Optional.some(jars);
+	}
+
+	private static Optional<String> value(final Xpp3Dom element, final String name) {
+		return Optional.of(element.getChild(name)).flatMap(c -> PluginConfiguration.value(c));
+	}
+
+}
@@ -0,0 +1,28 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+
+public class AspectjAnalyzerProvider implements AnalyzerProvider {
+
+	@Override
+	public List<String> getTriggerPlugins() {
+		return Collections.singletonList(AspectjProjectAnalyzer.ORG_CODEHAUS_MOJO_ASPECTJ_MAVEN_PLUGIN);
+	}
+
+	@Override
+	public int getOrder() {
+		return 200;
+	}
+
+	@Override
+	public MavenProjectAnalyzer createAnalyzer(final Log log, final boolean autodetect,
+			final RepositorySystem repositorySystem, final RepositorySystemSession repositorySession) {
+		return new AspectjProjectAnalyzer(log, autodetect);
+	}
+
+}
@@ -1,16 +1,69 @@
 package de.tobiasroeser.maven.eclipse;
 
-import static de.tototec.utils.functional.FList.append;
 import static de.tototec.utils.functional.FList.exists;
+import static de.tototec.utils.functional.FList.foreach;
+import static de.tototec.utils.functional.FList.map;
+import static de.tototec.utils.functional.FList.mkString;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+import de.tototec.utils.functional.Optional;
 
 public class AspectjProjectAnalyzer implements MavenProjectAnalyzer {
 
 	public static final String ORG_CODEHAUS_MOJO_ASPECTJ_MAVEN_PLUGIN = "org.codehaus.mojo:aspectj-maven-plugin";
 	public static final String ORG_ECLIPSE_AJDT_CORE_AJBUILDER = "org.eclipse.ajdt.core.ajbuilder";
 	public static final String ORG_ECLIPSE_AJDT_UI_AJNATURE = "org.eclipse.ajdt.ui.ajnature";
+	public static final String ORG_ECLIPSE_AJDT_CORE_ASPECTJRT_CONTAINER = "org.eclipse.ajdt.core.ASPECTJRT_CONTAINER";
+	public static final String ORG_ECLIPSE_AJDT_ASPECTPATH = "org.eclipse.ajdt.aspectpath";
+	public static final String ORG_ECLIPSE_AJDT_INPATH = "org.eclipse.ajdt.inpath";
+
+	/**
+	 * The lint options of AJDT, which are all set to the level given by the
+	 * <code>Xlint</code> parameter.
+	 */
+	public static final List<String> LINT_OPTIONS = Collections.unmodifiableList(Arrays.asList(
+			"BrokenSerialVersionCompatibility",
+			"CannotImplementLazyTJP",
+			"InvalidAbsoluteTypeName",
+			"NeedSerialVersionUIDField",
+			"ShadowNotInStructure",
+			"TypeNotExposedToWeaver",
+			"UnmatchedSuperTypeInCall",
+			"UnresolvableMember",
+			"WildcardTypeName",
+			"adviceDidNotMatch",
+			"annotationAsTargetForDecpIgnored",
+			"cantMatchArrayTypeOnVarargs",
+			"elementAlreadyAnnotated",
+			"enumAsTargetForDecpIgnored",
+			"invalidTargetForAnnotation",
+			"noGuardForLazyTjp",
+			"noInterfaceCtorJoinpoint",
+			"noJoinpointsForBridgeMethods",
+			"runtimeExceptionNotSoftened",
+			"swallowedExceptionInCatchBlock",
+			"uncheckedAdviceConversion",
+			"uncheckedArgument",
+			"unmatchedTargetKind"));
+
+	/**
+	 * Artifacts containing the AspectJ runtime, which make the AJDT runtime
+	 * container unnecessary.
+	 */
+	private static final List<String> RUNTIME_ARTIFACTS = Arrays.asList(
+			"org.aspectj:aspectjrt",
+			"org.aspectj:aspectjweaver",
+			"org.apache.servicemix.bundles:org.apache.servicemix.bundles.aspectj");
 
 	private final Log log;
 	private final boolean addingAllowed;
@@ -20,34 +73,122 @@ public class AspectjProjectAnalyzer implements MavenProjectAnalyzer {
 		this.addingAllowed = addingAllowed;
 	}
 
+	/**
+	 * Only invoked for projects using the aspectj-maven-plugin, see
+	 * {@link AspectjAnalyzerProvider}.
+	 */
 	@Override
-	public ProjectConfig analyze(ProjectConfig projectConfig, MavenProject mavenProject) {
-		ProjectConfig updated = projectConfig;
-
-		boolean pluginDetected = exists(
-				mavenProject.getPluginArtifactMap().keySet(),
-				key -> ORG_CODEHAUS_MOJO_ASPECTJ_MAVEN_PLUGIN.equals(key));
-
-		if (pluginDetected) {
-			log.debug("Detected aspectj plugin");
-
-			if (addingAllowed) {
-				log.debug("Adding scala nature and builder, disabling java nature and builder");
-				updated = updated
-						.withNatures(append(updated.getNatures(),
-								new Nature(ORG_ECLIPSE_AJDT_UI_AJNATURE, "Auto-detected from pom")))
-						.withBuilders(append(updated.getBuilders(),
-								new Builder(ORG_ECLIPSE_AJDT_CORE_AJBUILDER, "Auto-detected from pom")))
-						.withDisabledBuilders(append(updated.getDisabledBuilders(),
-								JavaProjectAnalyzer.ORG_ECLIPSE_JDT_CORE_JAVABUILDER));
+	public void analyze(ProjectConfig.Mutable projectConfig, MavenProject mavenProject) {
+		if (addingAllowed) {
+			log.debug("Adding aspectj nature and builder, disabling java builder");
+			projectConfig
+					.addNature(new Nature(ORG_ECLIPSE_AJDT_UI_AJNATURE, "Auto-detected from pom"))
+					.addBuilder(new Builder(ORG_ECLIPSE_AJDT_CORE_AJBUILDER, "Auto-detected from pom"))
+					.addDisabledBuilder(JavaProjectAnalyzer.ORG_ECLIPSE_JDT_CORE_JAVABUILDER);
+
+			final boolean hasRuntime = exists(mavenProject.getDependencies(),
+					d -> RUNTIME_ARTIFACTS.contains(d.getGroupId() + ":" + d.getArtifactId()));
+			if (!hasRuntime) {
+				log.debug("No aspectj runtime dependency found, adding aspectj runtime container");
+				projectConfig.addClasspathContainer(ORG_ECLIPSE_AJDT_CORE_ASPECTJRT_CONTAINER);
 			}
+		}
 
-			// TODO: generate settings
+		final Optional<PluginConfiguration> plugin = PluginConfiguration.of(mavenProject,
+				ORG_CODEHAUS_MOJO_ASPECTJ_MAVEN_PLUGIN);
+		plugin.foreach(p -> {
+			final List<String> aspectLibraries = dependencyKeys(p, "aspectLibraries");
+			final List<String> weaveDependencies = dependencyKeys(p, "weaveDependencies");
+			foreach(aspectLibraries, k -> projectConfig.addDependencyAttribute(
+					k, ORG_ECLIPSE_AJDT_ASPECTPATH, ORG_ECLIPSE_AJDT_ASPECTPATH));
+			foreach(weaveDependencies, k -> projectConfig.addDependencyAttribute(
+					k, ORG_ECLIPSE_AJDT_INPATH, ORG_ECLIPSE_AJDT_INPATH));
+			// without static classpath, the dependencies are entries of the m2e container
+			addContainerAttributes(projectConfig, mavenProject, aspectLibraries, ORG_ECLIPSE_AJDT_ASPECTPATH);
+			addContainerAttributes(projectConfig, mavenProject, weaveDependencies, ORG_ECLIPSE_AJDT_INPATH);
 
-			// TODO: add aspectj classpath container (if no aspect lib is on the path)
+			final List<String> settings = new ArrayList<>();
+			settings.add("eclipse.preferences.version=1");
+			p.getValue("Xlint")
+					.filter(level -> Arrays.asList("ignore", "warning", "error").contains(level))
+					.foreach(level -> settings.addAll(
+							map(LINT_OPTIONS, o -> "org.aspectj.ajdt.core.compiler.lint." + o + "=" + level)));
+			settings.add("org.eclipse.ajdt.core.compiler.useProjectSettings=true");
+			projectConfig.addSettingsFile(new SettingsFile("org.eclipse.ajdt.core.prefs", settings));
+		});
+	}
+
+	/**
+	 * Puts the m2e classpath container on the AJDT aspectpath or inpath,
+	 * restricted to the jar files of the given dependencies.
+	 */
+	protected void addContainerAttributes(final ProjectConfig.Mutable projectConfig, final MavenProject mavenProject,
+			final List<String> dependencyKeys, final String attribute) {
+		final List<String> jars = new ArrayList<>();
+		for (final String key : dependencyKeys) {
+			final Optional<String> jar = jarName(mavenProject, key);
+			if (jar.isDefined()) {
+				jars.add(jar.get());
+			} else {
+				log.warn("Could not find the dependency " + key + " of project " + mavenProject.getId()
+						+ ". It is not added to " + attribute + " of the m2e classpath container.");
+			}
 		}
+		if (!jars.isEmpty()) {
+			projectConfig
+					.addClasspathContainerAttribute(M2eProjectAnalyzer.ORG_ECLIPSE_M2E_MAVEN2_CLASSPATH_CONTAINER,
+							attribute, attribute)
+					.addClasspathContainerAttribute(M2eProjectAnalyzer.ORG_ECLIPSE_M2E_MAVEN2_CLASSPATH_CONTAINER,
+							attribute + ".restriction", mkString(jars, ","));
+		}
+	}
 
-		return updated;
+	/**
+	 * @return The file name of the jar of the given dependency, as resolved
+	 *         by m2e.
+	 */
+	protected Optional<String> jarName(final MavenProject mavenProject, final String dependencyKey) {
+		for (final Artifact artifact : mavenProject.getArtifacts()) {
+			if (dependencyKey.equals(artifact.getGroupId() + ":" + artifact.getArtifactId())) {
+				return Optional.some(artifact.getFile() != null ? artifact.getFile().getName()
+						: jarName(artifact.getArtifactId(), artifact.getBaseVersion(), artifact.getClassifier()));
+			}
+		}
+		for (final Dependency dependency : mavenProject.getDependencies()) {
+			if (dependencyKey.equals(dependency.getGroupId() + ":" + dependency.getArtifactId())
+					&& dependency.getVersion() != null) {
+				return Optional.some(
+						jarName(dependency.getArtifactId(), dependency.getVersion(), dependency.getClassifier()));
+			}
+		}
+		return Optional.none();
+	}
+
+	private static String jarName(final String artifactId, final String version, final String classifier) {
+		return artifactId + "-" + version + (classifier == null || classifier.isEmpty() ? "" : "-" + classifier)
+				+ ".jar";
+	}
+
+	/**
+	 * @return The <code>groupId:artifactId</code> of the dependencies of a
+	 *         list parameter like <code>aspectLibraries</code>.
+	 */
+	protected List<String> dependencyKeys(final PluginConfiguration plugin, final String name) {
+		final List<String> keys = new ArrayList<>();
+		for (final Xpp3Dom child : plugin.getChild(name)) {
+			for (final Xpp3Dom dependency : child.getChildren()) {
+				final Optional<String> groupId = Optional.of(dependency.getChild("groupId"))
+						.flatMap(c -> PluginConfiguration.value(c));
+				final Optional<String> artifactId = Optional.of(dependency.getChild("artifactId"))
+						.flatMap(c -> PluginConfiguration.value(c));
+				if (groupId.isDefined() && artifactId.isDefined()) {
+					keys.add(groupId.get() + ":" + artifactId.get());
+				} else {
+					log.warn("Ignoring incomplete " + dependency.getName() + " in " + name + " of " + plugin);
+				}
+			}
+		}
+		return keys;
 	}
 
 }
@@ -0,0 +1,136 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tototec.utils.functional.FList.foreach;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.Log;
+
+import de.tototec.utils.functional.Procedure1;
+
+/**
+ * A {@link Log} which records all messages, to be replayed later to another
+ * log. This is used to keep the log output of concurrently processed projects
+ * in a deterministic order.
+ */
+public class BufferedLog implements Log {
+
+	private final Log target;
+	private final List<Procedure1<Log>> messages = new ArrayList<>();
+
+	/**
+	 * @param target
+	 *            The log, which defines the enabled log levels and to which
+	 *            the messages will be replayed by default.
+	 */
+	public BufferedLog(final Log target) {
+		this.target = target;
+	}
+
+	private synchronized void record(final Procedure1<Log> message) {
+		messages.add(message);
+	}
+
+	/**
+	 * Replays all recorded messages to the target log and clears the buffer.
+	 */
+	public void replay() {
+		replay(target);
+	}
+
+	/**
+	 * Replays all recorded messages to the given log and clears the buffer.
+	 */
+	public synchronized void replay(final Log log) {
+		foreach(messages, m -> m.apply(log));
+		messages.clear();
+	}
+
+	@Override
+	public boolean isDebugEnabled() {
+		return target.isDebugEnabled();
+	}
+
+	@Override
+	public void debug(final CharSequence content) {
+		if (isDebugEnabled()) {
+			record(l -> l.debug(content));
+		}
+	}
+
+	@Override
+	public void debug(final CharSequence content, final Throwable error) {
+		if (isDebugEnabled()) {
+			record(l -> l.debug(content, error));
+		}
+	}
+
+	@Override
+	public void debug(final Throwable error) {
+		if (isDebugEnabled()) {
+			record(l -> l.debug(error));
+		}
+	}
+
+	@Override
+	public boolean isInfoEnabled() {
+		return target.isInfoEnabled();
+	}
+
+	@Override
+	public void info(final CharSequence content) {
+		record(l -> l.info(content));
+	}
+
+	@Override
+	public void info(final CharSequence content, final Throwable error) {
+		record(l -> l.info(content, error));
+	}
+
+	@Override
+	public void info(final Throwable error) {
+		record(l -> l.info(error));
+	}
+
+	@Override
+	public boolean isWarnEnabled() {
+		return target.isWarnEnabled();
+	}
+
+	@Override
+	public void warn(final CharSequence content) {
+		record(l -> l.warn(content));
+	}
+
+	@Override
+	public void warn(final CharSequence content, final Throwable error) {
+		record(l -> l.warn(content, error));
+	}
+
+	@Override
+	public void warn(final Throwable error) {
+		record(l -> l.warn(error));
+	}
+
+	@Override
+	public boolean isErrorEnabled() {
+		return target.isErrorEnabled();
+	}
+
+	@Override
+	public void error(final CharSequence content) {
+		record(l -> l.error(content));
+	}
+
+	@Override
+	public void error(final CharSequence content, final Throwable error) {
+		record(l -> l.error(content, error));
+	}
+
+	@Override
+	public void error(final Throwable error) {
+		record(l -> l.error(error));
+	}
+
+}
@@ -0,0 +1,117 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Generates Eclipse project files for all projects of the reactor in one
+ * pass. The projects are analyzed and their files written concurrently, but
+ * the log output is reported per project in reactor order.
+ * <p>
+ * All projects are generated with the plugin configuration of the project
+ * this goal is executed in, typically the reactor root.
+ */
+@Mojo(name = "eclipse-all", aggregator = true, threadSafe = true)
+public class EclipseAllMojo extends AbstractEclipseMojo {
+
+	/**
+	 * The maximal number of projects processed in parallel. A value less than
+	 * <code>1</code> uses the number of available processors.
+	 */
+	@Parameter(required = false, property = "eclipse.threads", defaultValue = "0")
+	private int threads = 0;
+
+	public EclipseAllMojo() {
+	}
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		if (isSkip()) {
+			getLog().info("Skipping eclipse");
+			return;
+		}
+
+		final List<MavenProject> projects = getSession().getProjects();
+		final int poolSize = Math.max(1,
+				Math.min(projects.size(), threads < 1 ? Runtime.getRuntime().availableProcessors() : threads));
+		getLog().debug("Generating " + projects.size() + " projects with " + poolSize + " threads");
+
+		final ExecutorService executor = Executors.newFixedThreadPool(poolSize, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				final Thread thread = new Thread(runnable, "eclipse-all-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		final GenerationStats stats = new GenerationStats();
+		try {
+			final List<BufferedLog> logs = new ArrayList<>(projects.size());
+			final List<Future<GenerationStats>> results = new ArrayList<>(projects.size());
+			for (final MavenProject project : projects) {
+				final BufferedLog log = new BufferedLog(getLog());
+				logs.add(log);
+				results.add(executor.submit(() -> {
+					final GenerationStats projectStats = new GenerationStats();
+					generate(project, log, projectStats);
+					return projectStats;
+				}));
+			}
+
+			// report in reactor order, failing at the first failed project
+			for (int i = 0; i < projects.size(); i++) {
+				final MavenProject project = projects.get(i);
+				final GenerationStats projectStats;
+				try {
+					projectStats = results.get(i).get();
+				} catch (final ExecutionException e) {
+					logs.get(i).replay();
+					final Throwable cause = e.getCause();
+					if (cause instanceof MojoExecutionException) {
+						throw (MojoExecutionException) cause;
+					} else if (cause instanceof MojoFailureException) {
+						throw (MojoFailureException) cause;
+					} else {
+						throw new MojoExecutionException("Could not generate Eclipse project files for project: "
+								+ project.getId(), cause);
+					}
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new MojoExecutionException("Interrupted while generating Eclipse project files", e);
+				}
+				getLog().info("Project " + project.getId());
+				logs.get(i).replay();
+				stats.add(projectStats);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		if (!isDryrun()) {
+			getLog().info("Eclipse project files of " + projects.size() + " projects: "
+					+ stats.getWrittenFiles() + " written, "
+					+ stats.getUnchangedFiles() + " unchanged, "
+					+ stats.getUpToDateProjects() + " projects up-to-date");
+		}
+		if (isMetrics()) {
+			stats.logMetrics(getLog(), "Eclipse generation metrics of " + projects.size()
+					+ " projects (summed up over all threads):");
+		}
+	}
+
+}
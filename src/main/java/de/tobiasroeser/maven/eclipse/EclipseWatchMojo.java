@@ -0,0 +1,321 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
+import org.apache.maven.project.ProjectBuildingRequest;
+
+import de.tototec.utils.functional.Optional;
+
+/**
+ * Generates Eclipse project files for all projects of the reactor and
+ * regenerates them, whenever a <code>pom.xml</code> or a settings template
+ * changes, until the build is stopped (e.g. with <code>Ctrl+C</code>).
+ * <p>
+ * Changed poms are re-read in the running JVM, so only the affected projects
+ * and their child projects are regenerated, without the cost of another
+ * Maven startup. A changed settings template regenerates all projects.
+ * Modules added to a changed pom are read and generated as well, removed
+ * modules are still watched until the build is restarted.
+ * <p>
+ * All projects are generated with the plugin configuration of the project
+ * this goal is executed in, typically the reactor root.
+ */
+@Mojo(name = "watch", aggregator = true)
+public class EclipseWatchMojo extends AbstractEclipseMojo {
+
+	/**
+	 * The time in milliseconds to wait for further changes, before the
+	 * affected projects are regenerated. This avoids repeated regeneration
+	 * while e.g. a version control checkout changes many files.
+	 */
+	@Parameter(required = false, property = "eclipse.debounce", defaultValue = "300")
+	private long debounce = 300;
+
+	@Component
+	private ProjectBuilder projectBuilder;
+
+	/**
+	 * The references between the current projects, once a pom was re-read.
+	 */
+	private ReactorReferences reactorReferences;
+
+	/**
+	 * The current projects, once a pom was re-read.
+	 */
+	private List<MavenProject> reactorProjects;
+
+	public EclipseWatchMojo() {
+	}
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		if (isSkip()) {
+			getLog().info("Skipping eclipse");
+			return;
+		}
+
+		// key: the pom file
+		final Map<Path, MavenProject> projects = new LinkedHashMap<>();
+		for (final MavenProject project : getSession().getProjects()) {
+			projects.put(project.getFile().toPath().toAbsolutePath().normalize(), project);
+		}
+		regenerate(new ArrayList<>(projects.values()));
+
+		try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+			final Set<Path> watched = new HashSet<>();
+			register(watcher, watched, watchedDirectories(projects.keySet(), templates(projects.values())));
+			getLog().info("Watching " + projects.size() + " projects for changes. Press Ctrl+C to stop.");
+
+			while (true) {
+				final Set<Path> changed = new LinkedHashSet<>();
+				boolean overflow = false;
+				WatchKey key = watcher.take();
+				while (key != null) {
+					for (final WatchEvent<?> event : key.pollEvents()) {
+						if (event.kind() == OVERFLOW) {
+							overflow = true;
+						} else {
+							changed.add(((Path) key.watchable()).resolve((Path) event.context()).normalize());
+						}
+					}
+					key.reset();
+					key = watcher.poll(debounce, TimeUnit.MILLISECONDS);
+				}
+
+				final List<MavenProject> affected;
+				if (overflow || !intersection(changed, templates(projects.values())).isEmpty()) {
+					affected = new ArrayList<>(projects.values());
+				} else {
+					affected = affected(projects, intersection(changed, projects.keySet()));
+				}
+				if (!affected.isEmpty()) {
+					final List<MavenProject> reloaded = reload(projects, affected);
+					reactorReferences = ReactorReferences.of(projects.values());
+					reactorProjects = new ArrayList<>(projects.values());
+					register(watcher, watched, watchedDirectories(projects.keySet(), templates(projects.values())));
+					regenerate(reloaded);
+				}
+			}
+
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (final IOException e) {
+			throw new MojoExecutionException("Could not watch for changes", e);
+		}
+	}
+
+	@Override
+	protected ReactorReferences reactorReferences() {
+		return reactorReferences != null ? reactorReferences : super.reactorReferences();
+	}
+
+	@Override
+	protected List<MavenProject> reactorProjects() {
+		return reactorProjects != null ? reactorProjects : super.reactorProjects();
+	}
+
+	private static void register(final WatchService watcher, final Set<Path> watched, final Set<Path> dirs)
+			throws IOException {
+		for (final Path dir : dirs) {
+			if (watched.add(dir)) {
+				dir.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+			}
+		}
+	}
+
+	/**
+	 * All template files and template directories.
+	 */
+	protected Set<Path> templates(final Iterable<MavenProject> projects) {
+		final List<File> templateFiles = new ArrayList<>();
+		for (final MavenProject project : projects) {
+			templateFiles.addAll(collectTemplates(project.getBasedir()).values());
+		}
+		return templates(getSettingsTemplatesDir(), templateFiles);
+	}
+
+	/**
+	 * The normalized paths of the given template directory (if any) and
+	 * template files.
+	 */
+	protected static Set<Path> templates(final File templatesDir, final Iterable<File> templateFiles) {
+		final Set<Path> templates = new LinkedHashSet<>();
+		if (templatesDir != null) {
+			templates.add(templatesDir.toPath().toAbsolutePath().normalize());
+		}
+		for (final File template : templateFiles) {
+			templates.add(template.toPath().toAbsolutePath().normalize());
+		}
+		return templates;
+	}
+
+	/**
+	 * The existing directories to watch: the directories of the poms and
+	 * template files and the template directories themselves.
+	 */
+	protected static Set<Path> watchedDirectories(final Set<Path> poms, final Set<Path> templates) {
+		final Set<Path> dirs = new LinkedHashSet<>();
+		for (final Path file : poms) {
+			dirs.add(file.getParent());
+		}
+		for (final Path file : templates) {
+			dirs.add(file.toFile().isDirectory() ? file : file.getParent());
+		}
+		final Set<Path> existing = new LinkedHashSet<>();
+		for (final Path dir : dirs) {
+			if (dir != null && dir.toFile().isDirectory()) {
+				existing.add(dir);
+			}
+		}
+		return existing;
+	}
+
+	/**
+	 * The paths of the given changed files, which are the given files or are
+	 * contained in one of the given directories.
+	 */
+	protected static Set<Path> intersection(final Set<Path> changed, final Set<Path> watched) {
+		final Set<Path> result = new LinkedHashSet<>();
+		for (final Path path : changed) {
+			if (watched.contains(path) || watched.contains(path.getParent())) {
+				result.add(path);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The projects of the changed poms and all projects inheriting from them.
+	 */
+	protected static List<MavenProject> affected(final Map<Path, MavenProject> projects, final Set<Path> changedPoms) {
+		final List<MavenProject> affected = new ArrayList<>();
+		for (final MavenProject project : projects.values()) {
+			MavenProject current = project;
+			while (current != null) {
+				if (current.getFile() != null
+						&& changedPoms.contains(current.getFile().toPath().toAbsolutePath().normalize())) {
+					affected.add(project);
+					break;
+				}
+				current = current.getParent();
+			}
+		}
+		return affected;
+	}
+
+	/**
+	 * The existing poms of the modules of the given projects, which are not
+	 * yet contained in the given projects.
+	 */
+	protected static Set<Path> addedModules(final Map<Path, MavenProject> projects,
+			final List<MavenProject> changed) {
+		final Set<Path> added = new LinkedHashSet<>();
+		for (final MavenProject project : changed) {
+			for (final String module : project.getModules()) {
+				File pom = new File(project.getBasedir(), module);
+				if (pom.isDirectory()) {
+					pom = new File(pom, "pom.xml");
+				}
+				final Path path = pom.toPath().toAbsolutePath().normalize();
+				if (pom.isFile() && !projects.containsKey(path)) {
+					added.add(path);
+				}
+			}
+		}
+		return added;
+	}
+
+	/**
+	 * Re-reads the poms of the given projects and reads the poms of added
+	 * modules. Projects with a broken pom are skipped.
+	 */
+	private List<MavenProject> reload(final Map<Path, MavenProject> projects, final List<MavenProject> affected) {
+		// same as the initial session, which resolved the dependencies of all projects
+		final ProjectBuildingRequest request = new DefaultProjectBuildingRequest(
+				getSession().getProjectBuildingRequest());
+		request.setResolveDependencies(true);
+
+		final List<MavenProject> reloaded = new ArrayList<>(affected.size());
+		for (final MavenProject project : affected) {
+			read(project.getFile(), request).foreach(updated -> {
+				updated.setExecutionRoot(project.isExecutionRoot());
+				projects.put(project.getFile().toPath().toAbsolutePath().normalize(), updated);
+				reloaded.add(updated);
+			});
+		}
+
+		Set<Path> added = addedModules(projects, reloaded);
+		while (!added.isEmpty()) {
+			final List<MavenProject> modules = new ArrayList<>(added.size());
+			for (final Path pom : added) {
+				read(pom.toFile(), request).foreach(module -> {
+					getLog().info("Found new module " + module.getId());
+					projects.put(pom, module);
+					modules.add(module);
+				});
+			}
+			reloaded.addAll(modules);
+			added = addedModules(projects, modules);
+		}
+		return reloaded;
+	}
+
+	private Optional<MavenProject> read(final File pom, final ProjectBuildingRequest request) {
+		try {
+			return Optional.some(projectBuilder.build(pom, request).getProject());
+		} catch (final ProjectBuildingException e) {
+			getLog().error("Could not read pom: " + pom + ": " + e.getMessage());
+			return Optional.none();
+		}
+	}
+
+	private void regenerate(final List<MavenProject> projects) {
+		final GenerationStats stats = new GenerationStats();
+		for (final MavenProject project : projects) {
+			getLog().info("Project " + project.getId());
+			final GenerationStats projectStats = new GenerationStats();
+			try {
+				generate(project, getLog(), projectStats);
+				stats.add(projectStats);
+			} catch (final MojoExecutionException | MojoFailureException | RuntimeException e) {
+				// keep watching, the user will most likely fix the problem
+				getLog().error("Could not generate Eclipse project files: " + e.getMessage(), e);
+			}
+		}
+		if (!isDryrun()) {
+			getLog().info("Eclipse project files of " + projects.size() + " projects: "
+					+ stats.getWrittenFiles() + " written, "
+					+ stats.getUnchangedFiles() + " unchanged, "
+					+ stats.getUpToDateProjects() + " projects up-to-date");
+		}
+	}
+
+}
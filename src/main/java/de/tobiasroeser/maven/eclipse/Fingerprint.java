@@ -0,0 +1,77 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Incrementally computed hash over the inputs used to generate the Eclipse
+ * project files. Two fingerprints with the same hex value were computed from
+ * the same inputs.
+ */
+public class Fingerprint {
+
+	private final MessageDigest digest = Util.sha256();
+
+	public Fingerprint add(final String key, final Object value) {
+		update(key);
+		update(String.valueOf(value));
+		return this;
+	}
+
+	public Fingerprint addAll(final String key, final Iterable<?> values) {
+		update(key);
+		if (values != null) {
+			for (final Object value : values) {
+				update(String.valueOf(value));
+			}
+		}
+		update("]");
+		return this;
+	}
+
+	/**
+	 * Adds all map entries sorted by their keys, so that the iteration order
+	 * of the given map does not matter.
+	 */
+	public Fingerprint addMap(final String key, final Map<?, ?> map) {
+		update(key);
+		if (map != null) {
+			final Map<String, String> sorted = new TreeMap<>();
+			for (final Entry<?, ?> entry : map.entrySet()) {
+				sorted.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+			}
+			for (final Entry<String, String> entry : sorted.entrySet()) {
+				update(entry.getKey());
+				update(entry.getValue());
+			}
+		}
+		update("]");
+		return this;
+	}
+
+	public String toHex() {
+		final byte[] bytes;
+		try {
+			bytes = ((MessageDigest) digest.clone()).digest();
+		} catch (final CloneNotSupportedException e) {
+			throw new IllegalStateException("Could not clone message digest", e);
+		}
+		return Util.hex(bytes);
+	}
+
+	private void update(final String value) {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		// length prefix, so that concatenated values can't collide
+		digest.update((bytes.length + ":").getBytes(StandardCharsets.UTF_8));
+		digest.update(bytes);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "(" + toHex() + ")";
+	}
+
+}
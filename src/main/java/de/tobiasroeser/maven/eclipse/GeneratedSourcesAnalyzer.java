@@ -0,0 +1,114 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Discovers the source roots of code generators below
+ * <code>generated-sources</code> and <code>generated-test-sources</code> in
+ * the build directory, without the need to run the generators in the same
+ * Maven invocation. Discovered roots are always optional, as they vanish
+ * after a <code>mvn clean</code>.
+ * <p>
+ * Each directory directly below these directories is a source root, e.g.
+ * <code>target/generated-sources/annotations</code>. If such a directory
+ * only contains language specific directories, e.g.
+ * <code>target/generated-sources/protobuf/java</code> and
+ * <code>target/generated-sources/protobuf/grpc-java</code>, those are the
+ * source roots instead.
+ */
+public class GeneratedSourcesAnalyzer implements MavenProjectAnalyzer {
+
+	private static final List<String> LANGUAGE_DIRS = Arrays.asList("java", "grpc-java", "kotlin", "scala", "groovy");
+
+	private final Log log;
+
+	public GeneratedSourcesAnalyzer(final Log log) {
+		this.log = log;
+	}
+
+	@Override
+	public void analyze(final ProjectConfig.Mutable projectConfig, final MavenProject mavenProject) {
+		final List<String> sources = discoverSources(mavenProject);
+		final List<String> testSources = discoverTestSources(mavenProject);
+		log.debug("Discovered generated sources: " + sources + ", generated test sources: " + testSources);
+
+		projectConfig
+				.addSources(sources)
+				.addTestSources(testSources)
+				.addOptionalSources(sources)
+				.addOptionalSources(testSources);
+	}
+
+	public List<String> discoverSources(final MavenProject mavenProject) {
+		return discover(Paths.get(mavenProject.getBuild().getDirectory(), "generated-sources"));
+	}
+
+	public List<String> discoverTestSources(final MavenProject mavenProject) {
+		return discover(Paths.get(mavenProject.getBuild().getDirectory(), "generated-test-sources"));
+	}
+
+	/**
+	 * The directories below the given directory are scanned concurrently, as
+	 * generators like protobuf may create many of them.
+	 */
+	protected List<String> discover(final Path generatedSourcesDir) {
+		// the ordered collect keeps the sorted order of the sub directories
+		return subDirs(generatedSourcesDir).parallelStream()
+				.flatMap(dir -> roots(dir).stream())
+				.collect(Collectors.toList());
+	}
+
+	private List<String> roots(final Path dir) {
+		final List<Path> languageDirs = new ArrayList<>();
+		boolean onlyLanguageDirs = true;
+		try (DirectoryStream<Path> children = Files.newDirectoryStream(dir)) {
+			for (final Path child : children) {
+				if (Files.isDirectory(child) && LANGUAGE_DIRS.contains(child.getFileName().toString())) {
+					languageDirs.add(child);
+				} else {
+					onlyLanguageDirs = false;
+				}
+			}
+		} catch (final IOException e) {
+			log.debug("Could not scan directory: " + dir, e);
+		}
+		if (onlyLanguageDirs && !languageDirs.isEmpty()) {
+			Collections.sort(languageDirs);
+			final List<String> roots = new ArrayList<>(languageDirs.size());
+			for (final Path languageDir : languageDirs) {
+				roots.add(languageDir.toString());
+			}
+			return roots;
+		}
+		return Collections.singletonList(dir.toString());
+	}
+
+	private List<Path> subDirs(final Path dir) {
+		final List<Path> subDirs = new ArrayList<>();
+		try (DirectoryStream<Path> children = Files.newDirectoryStream(dir, Files::isDirectory)) {
+			for (final Path child : children) {
+				subDirs.add(child);
+			}
+		} catch (final NoSuchFileException e) {
+			// nothing generated yet
+		} catch (final IOException e) {
+			log.debug("Could not scan directory: " + dir, e);
+		}
+		Collections.sort(subDirs);
+		return subDirs;
+	}
+
+}
@@ -0,0 +1,154 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Counts the outcome of file generation, e.g. to report a summary at the end
+ * of the execution, and measures the time spent in the various phases of the
+ * generation.
+ * <p>
+ * Instances are not thread-safe. Use one instance per project and
+ * {@link #add(GenerationStats)} them up afterwards.
+ */
+public class GenerationStats {
+
+	private int writtenFiles;
+	private int unchangedFiles;
+	private int upToDateProjects;
+
+	/** Phase name to [count, nanos]. */
+	private final Map<String, long[]> phases = new LinkedHashMap<>();
+
+	/**
+	 * Measures the time until it gets stopped, to be stopped in a
+	 * <code>finally</code> block.
+	 */
+	public class Timer {
+
+		private final String phase;
+		private final long start = System.nanoTime();
+
+		private Timer(final String phase) {
+			this.phase = phase;
+		}
+
+		public void stop() {
+			record(phase, System.nanoTime() - start);
+		}
+
+	}
+
+	public void written() {
+		writtenFiles++;
+	}
+
+	public void unchanged() {
+		unchangedFiles++;
+	}
+
+	public void upToDate() {
+		upToDateProjects++;
+	}
+
+	public int getWrittenFiles() {
+		return writtenFiles;
+	}
+
+	public int getUnchangedFiles() {
+		return unchangedFiles;
+	}
+
+	public int getUpToDateProjects() {
+		return upToDateProjects;
+	}
+
+	public Timer time(final String phase) {
+		return new Timer(phase);
+	}
+
+	public void record(final String phase, final long nanos) {
+		record(phase, 1, nanos);
+	}
+
+	private void record(final String phase, final long count, final long nanos) {
+		final long[] entry = phases.computeIfAbsent(phase, p -> new long[2]);
+		entry[0] += count;
+		entry[1] += nanos;
+	}
+
+	public void add(final GenerationStats other) {
+		writtenFiles += other.writtenFiles;
+		unchangedFiles += other.unchangedFiles;
+		upToDateProjects += other.upToDateProjects;
+		for (final Entry<String, long[]> phase : other.phases.entrySet()) {
+			record(phase.getKey(), phase.getValue()[0], phase.getValue()[1]);
+		}
+	}
+
+	/**
+	 * Logs the measured phases as table.
+	 */
+	public void logMetrics(final Log log, final String title) {
+		int width = "Phase".length();
+		for (final String phase : phases.keySet()) {
+			width = Math.max(width, phase.length());
+		}
+		final String format = "  %-" + width + "s %7s %12s";
+		final StringBuilder table = new StringBuilder(title);
+		table.append(Util.LINE_SEPARATOR).append(String.format(Locale.ROOT, format, "Phase", "Count", "Time [ms]"));
+		for (final Entry<String, long[]> phase : phases.entrySet()) {
+			table.append(Util.LINE_SEPARATOR).append(String.format(Locale.ROOT, format,
+					phase.getKey(), phase.getValue()[0], millis(phase.getValue()[1])));
+		}
+		log.info(table);
+	}
+
+	/**
+	 * Renders the counters and measured phases as JSON object.
+	 */
+	public String toJson(final String projectId) {
+		final StringBuilder json = new StringBuilder();
+		json.append("{").append(Util.LINE_SEPARATOR);
+		json.append("  \"project\": \"").append(jsonEscape(projectId)).append("\",").append(Util.LINE_SEPARATOR);
+		json.append("  \"writtenFiles\": ").append(writtenFiles).append(",").append(Util.LINE_SEPARATOR);
+		json.append("  \"unchangedFiles\": ").append(unchangedFiles).append(",").append(Util.LINE_SEPARATOR);
+		json.append("  \"upToDate\": ").append(upToDateProjects > 0).append(",").append(Util.LINE_SEPARATOR);
+		json.append("  \"phases\": [");
+		String sep = "";
+		for (final Entry<String, long[]> phase : phases.entrySet()) {
+			json.append(sep).append(Util.LINE_SEPARATOR);
+			json.append("    { \"name\": \"").append(jsonEscape(phase.getKey()))
+					.append("\", \"count\": ").append(phase.getValue()[0])
+					.append(", \"millis\": ").append(millis(phase.getValue()[1]))
+					.append(" }");
+			sep = ",";
+		}
+		json.append(Util.LINE_SEPARATOR).append("  ]").append(Util.LINE_SEPARATOR);
+		json.append("}").append(Util.LINE_SEPARATOR);
+		return json.toString();
+	}
+
+	private static String millis(final long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1000000.0);
+	}
+
+	private static String jsonEscape(final String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() +
+				"(writtenFiles=" + writtenFiles +
+				",unchangedFiles=" + unchangedFiles +
+				",upToDateProjects=" + upToDateProjects +
+				",phases=" + phases.keySet() +
+				")";
+	}
+
+}
@@ -0,0 +1,35 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The named inputs (e.g. the {@link ProjectConfig} properties) read by a
+ * single file generator, stored as hashes. If all hashes are unchanged, the
+ * generator would produce the same file again.
+ */
+public class GeneratorInputs {
+
+	private final Map<String, String> hashes = new LinkedHashMap<>();
+
+	public GeneratorInputs add(final String name, final Object value) {
+		hashes.put(name, new Fingerprint().add(name, value).toHex());
+		return this;
+	}
+
+	public GeneratorInputs addAll(final String name, final Iterable<?> values) {
+		hashes.put(name, new Fingerprint().addAll(name, values).toHex());
+		return this;
+	}
+
+	public Map<String, String> getHashes() {
+		return Collections.unmodifiableMap(hashes);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "(" + hashes.keySet() + ")";
+	}
+
+}
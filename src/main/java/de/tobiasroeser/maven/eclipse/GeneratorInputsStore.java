@@ -0,0 +1,151 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Properties;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Persists the {@link GeneratorInputs} and the content hash of all generated
+ * files of a project, to find out which files need to be generated again and
+ * why.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class GeneratorInputsStore {
+
+	private final File file;
+	private final Properties previous = new Properties();
+	private final Properties current = new Properties();
+
+	public GeneratorInputsStore(final File file, final Log log) {
+		this.file = file;
+		if (file.isFile()) {
+			try (InputStream in = Files.newInputStream(file.toPath())) {
+				previous.load(in);
+			} catch (final IOException e) {
+				log.debug("Could not read generator inputs: " + file, e);
+			}
+		}
+	}
+
+	/**
+	 * @return The reasons why the given file needs to be generated, e.g. the
+	 *         names of the changed inputs, or an empty list, if the file is
+	 *         up-to-date.
+	 */
+	public List<String> changes(final File generated, final GeneratorInputs inputs) {
+		final List<String> changes = new ArrayList<>();
+		if (!generated.isFile()) {
+			changes.add("file does not exist");
+			return changes;
+		}
+		final String prefix = prefix(generated);
+		if (!previous.containsKey(prefix)) {
+			changes.add("no previous inputs recorded");
+			return changes;
+		}
+		if (isModified(generated)) {
+			changes.add("file content changed");
+		}
+		for (final Entry<String, String> input : inputs.getHashes().entrySet()) {
+			if (!input.getValue().equals(previous.getProperty(prefix + input.getKey()))) {
+				changes.add(input.getKey() + " changed");
+			}
+		}
+		return changes;
+	}
+
+	/**
+	 * Records the inputs and the generated content of the given file, to be
+	 * persisted with {@link #save()}.
+	 */
+	public void put(final File generated, final GeneratorInputs inputs, final byte[] content) {
+		final String prefix = prefix(generated);
+		current.setProperty(prefix, Util.sha256Hex(content));
+		for (final Entry<String, String> input : inputs.getHashes().entrySet()) {
+			current.setProperty(prefix + input.getKey(), input.getValue());
+		}
+	}
+
+	/**
+	 * Records the inputs and content of the given file, as recorded in the
+	 * last saved run, e.g. because the file was not generated again.
+	 */
+	public void keep(final File generated) {
+		final String prefix = prefix(generated);
+		for (final String key : previous.stringPropertyNames()) {
+			if (key.startsWith(prefix)) {
+				current.setProperty(key, previous.getProperty(key));
+			}
+		}
+	}
+
+	/**
+	 * @return All files, whose inputs were recorded in the last saved run.
+	 */
+	public List<File> getPreviousFiles() {
+		final List<File> files = new ArrayList<>();
+		for (final String key : previous.stringPropertyNames()) {
+			if (key.endsWith("#")) {
+				files.add(new File(key.substring(0, key.length() - 1)));
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * @return All files of the last saved run, which are missing or whose
+	 *         content changed since.
+	 */
+	public List<File> getModifiedFiles() {
+		final List<File> files = new ArrayList<>();
+		for (final File generated : getPreviousFiles()) {
+			if (!generated.isFile() || isModified(generated)) {
+				files.add(generated);
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * @return All files of the last saved run, which were neither recorded
+	 *         nor kept in this run.
+	 */
+	public List<File> getObsoleteFiles() {
+		final List<File> files = new ArrayList<>();
+		for (final File generated : getPreviousFiles()) {
+			if (!current.containsKey(prefix(generated))) {
+				files.add(generated);
+			}
+		}
+		return files;
+	}
+
+	public void save() throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		current.store(out, "Generated by eclipse-maven-plugin");
+		file.getParentFile().mkdirs();
+		Util.writeAtomically(file, out.toByteArray());
+	}
+
+	private boolean isModified(final File generated) {
+		try {
+			return !Util.sha256Hex(generated).equals(previous.getProperty(prefix(generated)));
+		} catch (final IOException e) {
+			return true;
+		}
+	}
+
+	private static String prefix(final File generated) {
+		return generated.getPath() + "#";
+	}
+
+}
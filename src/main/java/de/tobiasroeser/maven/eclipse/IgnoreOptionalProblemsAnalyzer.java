@@ -0,0 +1,83 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Marks source roots, whose optional compiler problems (e.g. unused imports
+ * or raw types) Eclipse should not report, typically generated code.
+ * <p>
+ * If enabled, all source roots below the build directory are marked.
+ * Additionally, the source roots matching one of the given glob patterns
+ * (relative to the project) are marked. Patterns starting with
+ * <code>!</code> unmark the matching roots again, which overrides both
+ * other rules.
+ */
+public class IgnoreOptionalProblemsAnalyzer implements MavenProjectAnalyzer {
+
+	private final Log log;
+	private final boolean buildDirectory;
+	private final List<PathMatcher> includes = new ArrayList<>();
+	private final List<PathMatcher> excludes = new ArrayList<>();
+
+	/**
+	 * @param buildDirectory
+	 *            Mark all source roots below the build directory.
+	 * @param patterns
+	 *            Glob patterns of source roots to mark, or to unmark, when
+	 *            starting with <code>!</code>.
+	 */
+	public IgnoreOptionalProblemsAnalyzer(final Log log, final boolean buildDirectory, final List<String> patterns) {
+		this.log = log;
+		this.buildDirectory = buildDirectory;
+		for (final String pattern : patterns) {
+			if (pattern.startsWith("!")) {
+				excludes.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern.substring(1)));
+			} else {
+				includes.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern));
+			}
+		}
+	}
+
+	@Override
+	public void analyze(final ProjectConfig.Mutable projectConfig, final MavenProject mavenProject) {
+		final Path basedir = mavenProject.getBasedir().toPath().toAbsolutePath().normalize();
+		final Path buildDir = basedir.resolve(mavenProject.getBuild().getDirectory()).normalize();
+
+		final List<String> roots = new ArrayList<>(projectConfig.getSources());
+		roots.addAll(projectConfig.getTestSources());
+
+		final List<String> marked = new ArrayList<>();
+		for (final String root : roots) {
+			final Path path = basedir.resolve(new File(root).toPath()).normalize();
+			final Path relativePath = path.startsWith(basedir) ? basedir.relativize(path) : path;
+			if (matches(excludes, relativePath)) {
+				continue;
+			}
+			if ((buildDirectory && path.startsWith(buildDir)) || matches(includes, relativePath)) {
+				marked.add(root);
+			}
+		}
+
+		log.debug("Ignoring optional problems of source roots: " + marked);
+		projectConfig.addIgnoreOptionalProblems(marked);
+	}
+
+	private static boolean matches(final List<PathMatcher> matchers, final Path path) {
+		for (final PathMatcher matcher : matchers) {
+			if (matcher.matches(path) || matcher.matches(Paths.get(path.toString().replace('\\', '/')))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -1,6 +1,8 @@
 package de.tobiasroeser.maven.eclipse;
 
-import static de.tototec.utils.functional.FList.append;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
@@ -11,6 +13,9 @@ public class JavaProjectAnalyzer implements MavenProjectAnalyzer {
 
 	public static final String ORG_ECLIPSE_JDT_CORE_JAVABUILDER = "org.eclipse.jdt.core.javabuilder";
 	public static final String ORG_ECLIPSE_JDT_CORE_JAVANATURE = "org.eclipse.jdt.core.javanature";
+	public static final String ORG_APACHE_MAVEN_PLUGINS_MAVEN_COMPILER_PLUGIN = "org.apache.maven.plugins:maven-compiler-plugin";
+
+	private static final String JDT_COMPILER = "org.eclipse.jdt.core.compiler.";
 
 	private final Log log;
 	private final boolean addingAllowed;
@@ -21,25 +26,49 @@ public class JavaProjectAnalyzer implements MavenProjectAnalyzer {
 	}
 
 	@Override
-	public ProjectConfig analyze(final ProjectConfig projectConfig, final MavenProject mavenProject) {
+	public void analyze(final ProjectConfig.Mutable projectConfig, final MavenProject mavenProject) {
 		if ("pom".equals(mavenProject.getPackaging())) {
 			log.debug("Skip java-specific project settings for pom project: " + mavenProject);
-			return projectConfig;
+			return;
 		}
 
-		ProjectConfig updated = projectConfig;
+		final Optional<PluginConfiguration> compiler = PluginConfiguration.of(mavenProject,
+				ORG_APACHE_MAVEN_PLUGINS_MAVEN_COMPILER_PLUGIN);
+
 		if (addingAllowed) {
 			log.debug("Adding Java builder and nature");
-			updated = updated
-					.withBuilders(append(updated.getBuilders(),
-							new Builder(ORG_ECLIPSE_JDT_CORE_JAVABUILDER, "Default Java Builder")))
-					.withNatures(append(updated.getNatures(),
-							new Nature(ORG_ECLIPSE_JDT_CORE_JAVANATURE, "Default Java Nature")));
+			projectConfig
+					.addBuilder(new Builder(ORG_ECLIPSE_JDT_CORE_JAVABUILDER, "Default Java Builder"))
+					.addNature(new Nature(ORG_ECLIPSE_JDT_CORE_JAVANATURE, "Default Java Nature"));
+
+			// the aspectj compiler replaces javac, so its compliance level wins
+			final Optional<PluginConfiguration> aspectj = PluginConfiguration.of(mavenProject,
+					AspectjProjectAnalyzer.ORG_CODEHAUS_MOJO_ASPECTJ_MAVEN_PLUGIN);
+			final Optional<String> complianceLevel = aspectj.flatMap(p -> p.getValue("complianceLevel"));
+			final Optional<String> release;
+			final Optional<String> source;
+			final Optional<String> target;
+			if (complianceLevel.isDefined()) {
+				release = Optional.none();
+				source = complianceLevel;
+				target = aspectj.flatMap(p -> p.getValue("target"));
+			} else {
+				release = compilerSetting(compiler, mavenProject, "release");
+				source = compilerSetting(compiler, mavenProject, "source");
+				target = compilerSetting(compiler, mavenProject, "target");
+			}
+			final Optional<String> javaVersion = release
+					.orElse(source)
+					.orElse(target)
+					.map(v -> jdtVersion(v))
+					.orElse(projectConfig.getJavaVersion());
 
-			final Optional<String> javaVersion = Optional
-					.of(mavenProject.getProperties().getProperty("maven.compiler.source"))
-					.orElse(Optional.of(mavenProject.getProperties().getProperty("maven.compiler.target")))
-					.orElse(updated.getJavaVersion());
+			if (release.isDefined()) {
+				projectConfig.putJdtSetting(JDT_COMPILER + "release", "enabled");
+			} else if (source.isDefined() && target.isDefined()
+					&& !jdtVersion(source.get()).equals(jdtVersion(target.get()))) {
+				projectConfig.putJdtSetting(JDT_COMPILER + "codegen.targetPlatform", jdtVersion(target.get()));
+			}
 
 			log.debug("Adding Java classpath container");
 			final String cpEntry;
@@ -55,12 +84,94 @@ public class JavaProjectAnalyzer implements MavenProjectAnalyzer {
 				cpEntry = jrePrefix;
 			}
 
-			updated = updated
-					.withJavaVersion(javaVersion)
-					.withClasspathContainers(append(updated.getClasspathContainers(), cpEntry));
+			projectConfig
+					.setJavaVersion(javaVersion)
+					.addClasspathContainer(cpEntry);
+
+		}
+
+		final List<String> args = new ArrayList<>();
+		compiler.foreach(c -> {
+			args.addAll(c.getValues("compilerArgs"));
+			c.getValue("compilerArgument").foreach(a -> args.addAll(Arrays.asList(a.split("\\s+"))));
+		});
+
+		if (args.contains("-parameters")
+				|| compilerSetting(compiler, mavenProject, "parameters").filter(p -> "true".equals(p)).isDefined()) {
+			projectConfig.putJdtSetting(JDT_COMPILER + "codegen.methodParameters", "generate");
+		}
+
+		if (args.contains("--enable-preview")
+				|| compilerSetting(compiler, mavenProject, "enablePreview").filter(p -> "true".equals(p)).isDefined()) {
+			projectConfig
+					.putJdtSetting(JDT_COMPILER + "problem.enablePreviewFeatures", "enabled")
+					.putJdtSetting(JDT_COMPILER + "problem.reportPreviewFeatures", "ignore");
+		}
+
+		debugInfo(args, compiler, mavenProject).foreach(debugInfo -> {
+			projectConfig
+					.putJdtSetting(JDT_COMPILER + "debug.lineNumber", generate(debugInfo.contains("lines")))
+					.putJdtSetting(JDT_COMPILER + "debug.localVariable", generate(debugInfo.contains("vars")))
+					.putJdtSetting(JDT_COMPILER + "debug.sourceFile", generate(debugInfo.contains("source")));
+		});
+	}
+
+	/**
+	 * @return The value of the given maven-compiler-plugin parameter, falling
+	 *         back to the <code>maven.compiler.*</code> user property.
+	 */
+	protected Optional<String> compilerSetting(final Optional<PluginConfiguration> compiler,
+			final MavenProject mavenProject, final String name) {
+		return compiler.flatMap(c -> c.getValue(name))
+				.orElse(Optional.of(mavenProject.getProperties().getProperty("maven.compiler." + name)))
+				.map(v -> v.trim())
+				.filter(v -> !v.isEmpty());
+	}
+
+	/**
+	 * @return The explicitly configured debug information (any of
+	 *         <code>lines</code>, <code>vars</code> and <code>source</code>),
+	 *         either from <code>-g</code> compiler arguments or from the
+	 *         <code>debug</code> and <code>debuglevel</code> parameters.
+	 */
+	protected Optional<List<String>> debugInfo(final List<String> args,
+			final Optional<PluginConfiguration> compiler, final MavenProject mavenProject) {
+		final List<String> all = Arrays.asList("lines", "vars", "source");
+		for (final String arg : args) {
+			if (arg.equals("-g")) {
+				return Optional.some(all);
+			} else if (arg.equals("-g:none")) {
+				return Optional.some(new ArrayList<>());
+			} else if (arg.startsWith("-g:")) {
+				return Optional.some(Arrays.asList(arg.substring(3).split(",")));
+			}
+		}
+		final Optional<String> debug = compilerSetting(compiler, mavenProject, "debug");
+		final Optional<String> debuglevel = compilerSetting(compiler, mavenProject, "debuglevel");
+		if (debug.filter(d -> "false".equals(d)).isDefined()) {
+			return Optional.some(new ArrayList<>());
+		} else if (debuglevel.isDefined()) {
+			return debuglevel.map(l -> Arrays.asList(l.split("\\s*,\\s*")));
+		} else {
+			return debug.map(d -> all);
+		}
+	}
+
+	private static String generate(final boolean generate) {
+		return generate ? "generate" : "do not generate";
+	}
 
+	/**
+	 * @return The Java version as used by JDT, e.g. <code>1.8</code> for
+	 *         <code>8</code>.
+	 */
+	public static String jdtVersion(final String javaVersion) {
+		final String version = ProjectConfig.javaVersion(javaVersion);
+		if (version.matches("[1-8]")) {
+			return "1." + version;
+		} else {
+			return version;
 		}
-		return updated;
 	}
 
 }
@@ -0,0 +1,89 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.tototec.utils.functional.Optional;
+
+/**
+ * Predefined sets of <code>org.eclipse.jdt.core.prefs</code> settings.
+ */
+public class JdtProfiles {
+
+	/**
+	 * No additional settings.
+	 */
+	public static final String NONE = "none";
+
+	/**
+	 * Disables the most expensive compiler analyses (null analysis, resource
+	 * leak analysis and unused code detection) and excludes editor and merge
+	 * leftovers from being copied to the output directory.
+	 */
+	public static final String FAST = "fast";
+
+	private static final String PROBLEM = "org.eclipse.jdt.core.compiler.problem.";
+
+	private JdtProfiles() {
+	}
+
+	/**
+	 * @return The settings of the given profile, or none, if the profile is
+	 *         unknown.
+	 */
+	public static Optional<Map<String, String>> settings(final String profile) {
+		if (NONE.equals(profile)) {
+			return Optional.some(Collections.emptyMap());
+		} else if (FAST.equals(profile)) {
+			final Map<String, String> settings = new LinkedHashMap<>();
+			settings.put("org.eclipse.jdt.core.builder.resourceCopyExclusionFilter",
+					"*.launch,*.bak,*.log,*.orig,*.rej,*.swp,*.tmp");
+			settings.put("org.eclipse.jdt.core.compiler.annotation.nullanalysis", "disabled");
+			settings.put(PROBLEM + "deadCode", "ignore");
+			settings.put(PROBLEM + "explicitlyClosedAutoCloseable", "ignore");
+			settings.put(PROBLEM + "nullReference", "ignore");
+			settings.put(PROBLEM + "potentialNullReference", "ignore");
+			settings.put(PROBLEM + "potentiallyUnclosedCloseable", "ignore");
+			settings.put(PROBLEM + "redundantNullCheck", "ignore");
+			settings.put(PROBLEM + "reportMethodCanBePotentiallyStatic", "ignore");
+			settings.put(PROBLEM + "reportMethodCanBeStatic", "ignore");
+			settings.put(PROBLEM + "syntacticNullAnalysisForFields", "disabled");
+			settings.put(PROBLEM + "unclosedCloseable", "ignore");
+			settings.put(PROBLEM + "unusedDeclaredThrownException", "ignore");
+			settings.put(PROBLEM + "unusedImport", "ignore");
+			settings.put(PROBLEM + "unusedLocal", "ignore");
+			settings.put(PROBLEM + "unusedParameter", "ignore");
+			settings.put(PROBLEM + "unusedPrivateMember", "ignore");
+			return Optional.some(Collections.unmodifiableMap(settings));
+		} else {
+			return Optional.none();
+		}
+	}
+
+	/**
+	 * Merges settings into the lines of a preferences file. Keys already
+	 * present in the lines win, the other settings are appended.
+	 */
+	public static List<String> merge(final List<String> lines, final Map<String, String> settings) {
+		final Set<String> keys = new LinkedHashSet<>();
+		for (final String line : lines) {
+			final int eq = line.indexOf('=');
+			if (eq > 0 && !line.startsWith("#")) {
+				keys.add(line.substring(0, eq).trim());
+			}
+		}
+		final List<String> merged = new ArrayList<>(lines);
+		settings.forEach((k, v) -> {
+			if (!keys.contains(k)) {
+				merged.add(k + "=" + v);
+			}
+		});
+		return merged;
+	}
+
+}
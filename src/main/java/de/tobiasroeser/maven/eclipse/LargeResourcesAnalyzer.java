@@ -0,0 +1,128 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tototec.utils.functional.FList.mkString;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Marks large resource directories, which Eclipse should not copy into the
+ * output directory. They are added as class folders to the classpath
+ * instead, so their files are used in place.
+ * <p>
+ * Also adds the copy exclusion patterns to the JDT
+ * <code>resourceCopyExclusionFilter</code>.
+ */
+public class LargeResourcesAnalyzer implements MavenProjectAnalyzer {
+
+	public static final String RESOURCE_COPY_EXCLUSION_FILTER = "org.eclipse.jdt.core.builder.resourceCopyExclusionFilter";
+
+	/**
+	 * The default value of {@link #RESOURCE_COPY_EXCLUSION_FILTER} in
+	 * Eclipse.
+	 */
+	public static final String DEFAULT_RESOURCE_COPY_EXCLUSION_FILTER = "*.launch";
+
+	private final Log log;
+	private final List<String> largeResources;
+	private final long threshold;
+	private final List<String> copyExclusions;
+
+	/**
+	 * @param largeResources
+	 *            Resource directories (relative to the project), which are
+	 *            always large.
+	 * @param threshold
+	 *            The total size in bytes, above which a resource directory
+	 *            is large, or <code>0</code> to not check the size.
+	 * @param copyExclusions
+	 *            File name patterns, e.g. <code>*.bin</code>, Eclipse should
+	 *            never copy to the output directory.
+	 */
+	public LargeResourcesAnalyzer(final Log log, final List<String> largeResources, final long threshold,
+			final List<String> copyExclusions) {
+		this.log = log;
+		this.largeResources = largeResources;
+		this.threshold = threshold;
+		this.copyExclusions = copyExclusions;
+	}
+
+	@Override
+	public void analyze(final ProjectConfig.Mutable projectConfig, final MavenProject mavenProject) {
+		final Path basedir = mavenProject.getBasedir().toPath().toAbsolutePath().normalize();
+		final Set<Path> explicit = new LinkedHashSet<>();
+		for (final String dir : largeResources) {
+			explicit.add(basedir.resolve(new File(dir).toPath()).normalize());
+		}
+
+		final List<String> large = new ArrayList<>();
+		final List<Resource> resources = new ArrayList<>(projectConfig.getResources());
+		resources.addAll(projectConfig.getTestResources());
+		for (final Resource resource : resources) {
+			final Path path = basedir.resolve(new File(resource.getPath()).toPath()).normalize();
+			if (explicit.contains(path) || (threshold > 0 && exceeds(path, threshold))) {
+				if (!resource.getIncludes().isEmpty() || !resource.getExcludes().isEmpty()) {
+					log.warn("Includes and excludes of large resource directory are not supported by Eclipse class folders: "
+							+ resource.getPath());
+				}
+				large.add(resource.getPath());
+			}
+		}
+		log.debug("Large resource directories: " + large);
+		projectConfig.addLargeResources(large);
+
+		if (!copyExclusions.isEmpty()) {
+			final Set<String> filter = new LinkedHashSet<>();
+			for (final String pattern : projectConfig.getJdtSettings()
+					.getOrDefault(RESOURCE_COPY_EXCLUSION_FILTER, DEFAULT_RESOURCE_COPY_EXCLUSION_FILTER).split(",")) {
+				if (!pattern.trim().isEmpty()) {
+					filter.add(pattern.trim());
+				}
+			}
+			filter.addAll(copyExclusions);
+			projectConfig.putJdtSetting(RESOURCE_COPY_EXCLUSION_FILTER, mkString(filter, ","));
+		}
+	}
+
+	/**
+	 * @return <code>true</code>, if the total size of the files in the given
+	 *         directory exceeds the threshold. Stops walking the directory as
+	 *         soon as it does.
+	 */
+	protected boolean exceeds(final Path dir, final long threshold) {
+		if (!Files.isDirectory(dir)) {
+			return false;
+		}
+		final long[] size = { 0 };
+		try {
+			Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+					size[0] += attrs.size();
+					return size[0] > threshold ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(final Path file, final IOException e) {
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (final IOException e) {
+			log.debug("Could not determine size of resource directory: " + dir, e);
+		}
+		return size[0] > threshold;
+	}
+
+}
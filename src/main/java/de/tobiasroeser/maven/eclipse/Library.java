@@ -0,0 +1,77 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.Objects;
+
+import de.tototec.utils.functional.Optional;
+
+/**
+ * A resolved library (jar file or class folder) on the classpath of the
+ * Eclipse project.
+ */
+public class Library {
+
+	private final String path;
+	private final Optional<String> sourcePath;
+	private final boolean test;
+	private final Optional<String> dependencyKey;
+
+	public Library(final String path, final Optional<String> sourcePath, final boolean test) {
+		this(path, sourcePath, test, Optional.none());
+	}
+
+	/**
+	 * @param dependencyKey
+	 *            The <code>groupId:artifactId</code> of the dependency this
+	 *            library was resolved from.
+	 */
+	public Library(final String path, final Optional<String> sourcePath, final boolean test,
+			final Optional<String> dependencyKey) {
+		this.path = path;
+		this.sourcePath = sourcePath;
+		this.test = test;
+		this.dependencyKey = dependencyKey;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public Optional<String> getSourcePath() {
+		return sourcePath;
+	}
+
+	public boolean isTest() {
+		return test;
+	}
+
+	public Optional<String> getDependencyKey() {
+		return dependencyKey;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (!(obj instanceof Library)) {
+			return false;
+		}
+		final Library other = (Library) obj;
+		return path.equals(other.path) && Objects.equals(sourcePath.getOrElse(null), other.sourcePath.getOrElse(null))
+				&& test == other.test
+				&& Objects.equals(dependencyKey.getOrElse(null), other.dependencyKey.getOrElse(null));
+	}
+
+	@Override
+	public int hashCode() {
+		return path.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() +
+				"(path=" + path +
+				",sourcePath=" + sourcePath.getOrElse(null) +
+				",test=" + test +
+				",dependencyKey=" + dependencyKey.getOrElse(null) +
+				")";
+	}
+
+}
@@ -0,0 +1,98 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Selects the plugin executions, which m2e should ignore in a lean IDE build,
+ * because they are expensive and not needed to compile the project in
+ * Eclipse.
+ */
+public class LifecycleMapping {
+
+	public static final String LIFECYCLE_MAPPING_METADATA_FILE = ".mvn/lifecycle-mapping-metadata.xml";
+
+	/**
+	 * Plugins, which only check or package the project.
+	 */
+	public static final List<String> EXPENSIVE_PLUGINS = Collections.unmodifiableList(Arrays.asList(
+			"com.diffplug.spotless:spotless-maven-plugin",
+			"com.github.eirslett:frontend-maven-plugin",
+			"com.github.spotbugs:spotbugs-maven-plugin",
+			"com.mycila:license-maven-plugin",
+			"io.github.git-commit-id:git-commit-id-maven-plugin",
+			"org.apache.maven.plugins:maven-checkstyle-plugin",
+			"org.apache.maven.plugins:maven-enforcer-plugin",
+			"org.apache.rat:apache-rat-plugin",
+			"org.codehaus.mojo:license-maven-plugin",
+			"pl.project13.maven:git-commit-id-plugin"));
+
+	/**
+	 * Code generators, whose output can be discovered in the build directory
+	 * instead.
+	 */
+	public static final List<String> GENERATOR_PLUGINS = Collections.unmodifiableList(Arrays.asList(
+			"org.antlr:antlr4-maven-plugin",
+			"org.apache.avro:avro-maven-plugin",
+			"org.apache.cxf:cxf-codegen-plugin",
+			"org.codehaus.mojo:jaxb2-maven-plugin",
+			"org.jooq:jooq-codegen-maven",
+			"org.jvnet.jaxb2.maven2:maven-jaxb2-plugin",
+			"org.openapitools:openapi-generator-maven-plugin",
+			"org.xolstice.maven.plugins:protobuf-maven-plugin"));
+
+	private final Set<String> ignoredPlugins;
+
+	/**
+	 * @param ignoreGenerators
+	 *            Also ignore the {@link #GENERATOR_PLUGINS}, e.g. because
+	 *            their output is discovered.
+	 * @param extraPlugins
+	 *            Additional plugins to ignore (<code>groupId:artifactId</code>).
+	 */
+	public LifecycleMapping(final boolean ignoreGenerators, final Collection<String> extraPlugins) {
+		final Set<String> ignoredPlugins = new LinkedHashSet<>(EXPENSIVE_PLUGINS);
+		if (ignoreGenerators) {
+			ignoredPlugins.addAll(GENERATOR_PLUGINS);
+		}
+		ignoredPlugins.addAll(extraPlugins);
+		this.ignoredPlugins = Collections.unmodifiableSet(ignoredPlugins);
+	}
+
+	public Set<String> getIgnoredPlugins() {
+		return ignoredPlugins;
+	}
+
+	/**
+	 * @return The goals of the bound executions of ignored plugins, keyed and
+	 *         sorted by <code>groupId:artifactId</code>.
+	 */
+	public Map<String, Set<String>> ignoredExecutions(final Collection<MavenProject> mavenProjects) {
+		final Map<String, Set<String>> executions = new TreeMap<>();
+		for (final MavenProject mavenProject : mavenProjects) {
+			for (final Plugin plugin : mavenProject.getBuildPlugins()) {
+				final String key = plugin.getGroupId() + ":" + plugin.getArtifactId();
+				if (ignoredPlugins.contains(key)) {
+					for (final PluginExecution execution : plugin.getExecutions()) {
+						if (!execution.getGoals().isEmpty()) {
+							executions.computeIfAbsent(key, k -> new TreeSet<>()).addAll(execution.getGoals());
+						}
+					}
+				}
+			}
+		}
+		return executions;
+	}
+
+}
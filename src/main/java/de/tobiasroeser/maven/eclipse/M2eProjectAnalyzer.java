@@ -1,7 +1,5 @@
 package de.tobiasroeser.maven.eclipse;
 
-import static de.tototec.utils.functional.FList.append;
-
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 
@@ -12,24 +10,34 @@ public class M2eProjectAnalyzer implements MavenProjectAnalyzer {
 	public static final String ORG_ECLIPSE_M2E_MAVEN2_CLASSPATH_CONTAINER = "org.eclipse.m2e.MAVEN2_CLASSPATH_CONTAINER";
 
 	private final boolean addingAllowed;
+	private final boolean mavenBuilder;
 
 	public M2eProjectAnalyzer(Log log, boolean addingAllowed) {
+		this(log, addingAllowed, true);
+	}
+
+	/**
+	 * @param mavenBuilder
+	 *            Add the M2E builder, which runs the plugin executions of the
+	 *            project on each build in Eclipse. Without it, the nature and
+	 *            classpath container are still added.
+	 */
+	public M2eProjectAnalyzer(Log log, boolean addingAllowed, boolean mavenBuilder) {
 		this.addingAllowed = addingAllowed;
+		this.mavenBuilder = mavenBuilder;
 	}
 
 	@Override
-	public ProjectConfig analyze(final ProjectConfig projectConfig, final MavenProject mavenProject) {
+	public void analyze(final ProjectConfig.Mutable projectConfig, final MavenProject mavenProject) {
 		if (addingAllowed) {
 			// Add M2e nature and builder
-			return projectConfig
-					.withBuilders(append(projectConfig.getBuilders(),
-							new Builder(ORG_ECLIPSE_M2E_CORE_MAVEN2_BUILDER, "Default M2E Builder")))
-					.withNatures(append(projectConfig.getNatures(),
-							new Nature(ORG_ECLIPSE_M2E_CORE_MAVEN2_NATURE, "Defaut M2E Nature")))
-					.withClasspathContainers(append(projectConfig.getClasspathContainers(),
-							ORG_ECLIPSE_M2E_MAVEN2_CLASSPATH_CONTAINER));
-		} else
-			return projectConfig;
+			if (mavenBuilder) {
+				projectConfig.addBuilder(new Builder(ORG_ECLIPSE_M2E_CORE_MAVEN2_BUILDER, "Default M2E Builder"));
+			}
+			projectConfig
+					.addNature(new Nature(ORG_ECLIPSE_M2E_CORE_MAVEN2_NATURE, "Defaut M2E Nature"))
+					.addClasspathContainer(ORG_ECLIPSE_M2E_MAVEN2_CLASSPATH_CONTAINER);
+		}
 	}
 
 }
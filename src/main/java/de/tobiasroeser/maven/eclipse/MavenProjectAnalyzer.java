@@ -4,6 +4,10 @@ import org.apache.maven.project.MavenProject;
 
 public interface MavenProjectAnalyzer {
 
-	ProjectConfig analyze(ProjectConfig projectConfig, MavenProject mavenProject);
+	/**
+	 * Analyzes the given project and adds the findings to the given project
+	 * configuration.
+	 */
+	void analyze(ProjectConfig.Mutable projectConfig, MavenProject mavenProject);
 
 }
@@ -13,24 +13,29 @@ public class MinimalPomAnalyzer implements MavenProjectAnalyzer {
 	}
 
 	@Override
-	public ProjectConfig analyze(final ProjectConfig projectConfig, final MavenProject mavenProject) {
-
-		ProjectConfig updated = projectConfig
-				.withName(Optional.of(mavenProject.getName())
-						.orElse(Optional.of(mavenProject.getArtifactId()))
-						.getOrElse("undefined"))
-				.withComment(Optional.of(mavenProject.getDescription()).getOrElse(""))
-				.withSources(mavenProject.getCompileSourceRoots())
-				.withTestSources(mavenProject.getTestCompileSourceRoots())
-				.withResources(map(mavenProject.getBuild().getResources(), r -> readResource(r)))
-				.withTestResources(map(mavenProject.getBuild().getTestResources(), r -> readResource(r)));
+	public void analyze(final ProjectConfig.Mutable projectConfig, final MavenProject mavenProject) {
+
+		projectConfig
+				.setName(projectName(mavenProject))
+				.setComment(Optional.of(mavenProject.getDescription()).getOrElse(""))
+				.addSources(mavenProject.getCompileSourceRoots())
+				.addTestSources(mavenProject.getTestCompileSourceRoots())
+				.addResources(map(mavenProject.getBuild().getResources(), r -> readResource(r)))
+				.addTestResources(map(mavenProject.getBuild().getTestResources(), r -> readResource(r)));
 
 		final Optional<String> encoding = Optional
 				.of(mavenProject.getProperties().getProperty("project.build.sourceEncoding"))
 				.orElse(Optional.of("UTF-8"));
-		updated = updated.withEncoding(encoding);
+		projectConfig.setEncoding(encoding);
+	}
 
-		return updated;
+	/**
+	 * @return The Eclipse project name of the given project.
+	 */
+	public static String projectName(final MavenProject mavenProject) {
+		return Optional.of(mavenProject.getName())
+				.orElse(Optional.of(mavenProject.getArtifactId()))
+				.getOrElse("undefined");
 	}
 
 	protected Resource readResource(org.apache.maven.model.Resource resource) {
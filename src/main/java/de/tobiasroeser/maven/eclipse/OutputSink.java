@@ -0,0 +1,185 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Collects all generated files of a project in memory and writes them in one
+ * go with {@link #flush()}.
+ * <p>
+ * All needed directories are created once. Unchanged files are skipped (if
+ * enabled). Each changed file is written to a temporary sibling file, which
+ * then replaces the target file atomically. If <code>fsync</code> is enabled,
+ * all temporary files are synced in one barrier before the first one gets
+ * moved, so that no half-written file ever replaces an existing one, even
+ * after a system crash.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class OutputSink {
+
+	private final Log log;
+	private final GenerationStats stats;
+	private final boolean dryrun;
+	private final boolean skipUnchanged;
+	private final boolean fsync;
+
+	private final Map<File, byte[]> files = new LinkedHashMap<>();
+
+	public OutputSink(final Log log, final GenerationStats stats, final boolean dryrun, final boolean skipUnchanged,
+			final boolean fsync) {
+		this.log = log;
+		this.stats = stats;
+		this.dryrun = dryrun;
+		this.skipUnchanged = skipUnchanged;
+		this.fsync = fsync;
+	}
+
+	/**
+	 * Adds a file to be written on {@link #flush()}. A file added twice is
+	 * written with the last added content.
+	 */
+	public void add(final File file, final byte[] content) {
+		files.put(file, content);
+	}
+
+	public void flush() throws MojoExecutionException {
+		if (dryrun) {
+			for (final Entry<File, byte[]> file : files.entrySet()) {
+				log.info("(dryrun) I would generate: " + file.getKey() + " with content:\n"
+						+ new String(file.getValue(), StandardCharsets.UTF_8));
+			}
+			files.clear();
+			return;
+		}
+
+		final GenerationStats.Timer timer = stats.time("write files");
+		try {
+			final Map<File, byte[]> changed = new LinkedHashMap<>();
+			final Set<File> dirs = new LinkedHashSet<>();
+			for (final Entry<File, byte[]> entry : files.entrySet()) {
+				final File file = entry.getKey();
+				try {
+					if (skipUnchanged && Util.hasContent(file, entry.getValue())) {
+						log.debug("Skipping unchanged file: " + file);
+						stats.unchanged();
+						continue;
+					}
+				} catch (final IOException e) {
+					throw new MojoExecutionException("Could not read file: " + file, e);
+				}
+				if (file.exists()) {
+					log.info("Overwriting existing file: " + file);
+				} else {
+					log.debug("Writing file: " + file);
+					if (file.getParentFile() != null) {
+						dirs.add(file.getParentFile());
+					}
+				}
+				changed.put(file, entry.getValue());
+			}
+			files.clear();
+
+			for (final File dir : dirs) {
+				// ensure, dir exists
+				dir.mkdirs();
+			}
+
+			write(changed);
+		} finally {
+			timer.stop();
+		}
+	}
+
+	private void write(final Map<File, byte[]> changed) throws MojoExecutionException {
+		final List<Path> tmpFiles = new ArrayList<>(changed.size());
+		try {
+			final List<FileChannel> channels = new ArrayList<>(changed.size());
+			IOException failure = null;
+			try {
+				for (final Entry<File, byte[]> entry : changed.entrySet()) {
+					final Path tmp = tmpFile(entry.getKey());
+					tmpFiles.add(tmp);
+					final FileChannel channel = FileChannel.open(tmp,
+							StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+					channels.add(channel);
+					final ByteBuffer buffer = ByteBuffer.wrap(entry.getValue());
+					while (buffer.hasRemaining()) {
+						channel.write(buffer);
+					}
+				}
+				if (fsync) {
+					for (final FileChannel channel : channels) {
+						channel.force(false);
+					}
+				}
+			} catch (final IOException e) {
+				failure = e;
+			} finally {
+				failure = closeAll(channels, failure);
+			}
+			if (failure != null) {
+				throw failure;
+			}
+
+			int i = 0;
+			for (final File file : changed.keySet()) {
+				Util.moveAtomically(tmpFiles.get(i++), file.toPath());
+				stats.written();
+			}
+		} catch (final IOException e) {
+			throw new MojoExecutionException("Could not write files: " + changed.keySet(), e);
+		} finally {
+			for (final Path tmp : tmpFiles) {
+				try {
+					Files.deleteIfExists(tmp);
+				} catch (final IOException e) {
+					log.debug("Could not delete temporary file: " + tmp, e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Closes all given channels, even if closing one of them fails.
+	 *
+	 * @return The given failure with the close failures added as suppressed
+	 *         exceptions, or the first close failure, if no failure was given.
+	 */
+	private static IOException closeAll(final List<FileChannel> channels, final IOException failure) {
+		IOException result = failure;
+		for (final FileChannel channel : channels) {
+			try {
+				channel.close();
+			} catch (final IOException e) {
+				if (result == null) {
+					result = e;
+				} else {
+					result.addSuppressed(e);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static Path tmpFile(final File file) {
+		return file.toPath().resolveSibling("." + file.getName() + ".tmp");
+	}
+
+}
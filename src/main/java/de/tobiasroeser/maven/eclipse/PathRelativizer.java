@@ -0,0 +1,70 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.io.File;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Makes paths relative to a base directory, with the same results as
+ * {@link Util#relativePath(File, String)}.
+ * <p>
+ * The normalized base directory is computed only once and paths inside of it
+ * are relativized by comparing their normalized path segments, without
+ * creating any {@link File} or {@link java.net.URI}. Results are cached, as
+ * the same paths are typically relativized multiple times while generating
+ * the files of one project.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class PathRelativizer {
+
+	private final File basedir;
+	private final Path normalizedBasedir;
+	private final Map<String, String> cache = new HashMap<>();
+
+	public PathRelativizer(final File basedir) {
+		this.basedir = basedir;
+		this.normalizedBasedir = basedir.toPath().toAbsolutePath().normalize();
+	}
+
+	public File getBasedir() {
+		return basedir;
+	}
+
+	public String relativePath(final String file) {
+		String relPath = cache.get(file);
+		if (relPath == null) {
+			relPath = computeRelativePath(file);
+			cache.put(file, relPath);
+		}
+		return relPath;
+	}
+
+	private String computeRelativePath(final String file) {
+		final Path path;
+		try {
+			path = Paths.get(file);
+		} catch (final InvalidPathException e) {
+			return Util.relativePath(basedir, file);
+		}
+		if (path.isAbsolute()) {
+			final Path normalized = path.normalize();
+			if (normalized.startsWith(normalizedBasedir)) {
+				final String relPath = normalizedBasedir.relativize(normalized).toString();
+				return File.separatorChar == '/' ? relPath : relPath.replace(File.separatorChar, '/');
+			}
+			// Paths outside of the base directory are rare, so we use the
+			// slow path to retain the exact format of the URI-based result
+			return Util.relativePath(basedir, file);
+		}
+		if (file.length() > 1 && file.endsWith("/")) {
+			return file.substring(0, file.length() - 1);
+		} else {
+			return file;
+		}
+	}
+
+}
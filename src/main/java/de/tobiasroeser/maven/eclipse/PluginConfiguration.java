@@ -0,0 +1,111 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+import de.tototec.utils.functional.Optional;
+
+/**
+ * Read access to the effective configuration of a build plugin of a project.
+ * <p>
+ * The configuration of all executions is considered, with the plugin-level
+ * configuration (including the one inherited from
+ * <code>pluginManagement</code>) as fallback. If more than one execution
+ * configures a parameter, the first one wins.
+ */
+public class PluginConfiguration {
+
+	private final Plugin plugin;
+	private final List<Xpp3Dom> configurations;
+
+	public PluginConfiguration(final Plugin plugin) {
+		this.plugin = plugin;
+		final List<Xpp3Dom> configurations = new ArrayList<>();
+		for (final PluginExecution execution : plugin.getExecutions()) {
+			if (execution.getConfiguration() instanceof Xpp3Dom) {
+				configurations.add((Xpp3Dom) execution.getConfiguration());
+			}
+		}
+		if (plugin.getConfiguration() instanceof Xpp3Dom) {
+			configurations.add((Xpp3Dom) plugin.getConfiguration());
+		}
+		this.configurations = Collections.unmodifiableList(configurations);
+	}
+
+	/**
+	 * @return The configuration of the first of the given plugins (keys in
+	 *         the form <code>groupId:artifactId</code>) used by the project.
+	 */
+	public static Optional<PluginConfiguration> of(final MavenProject mavenProject, final List<String> pluginKeys) {
+		if (mavenProject.getBuild() != null) {
+			for (final String pluginKey : pluginKeys) {
+				final Plugin plugin = mavenProject.getBuild().getPluginsAsMap().get(pluginKey);
+				if (plugin != null) {
+					return Optional.some(new PluginConfiguration(plugin));
+				}
+			}
+		}
+		return Optional.none();
+	}
+
+	public static Optional<PluginConfiguration> of(final MavenProject mavenProject, final String pluginKey) {
+		return of(mavenProject, Collections.singletonList(pluginKey));
+	}
+
+	public Plugin getPlugin() {
+		return plugin;
+	}
+
+	/**
+	 * @return The parameter element with the given name.
+	 */
+	public Optional<Xpp3Dom> getChild(final String name) {
+		for (final Xpp3Dom configuration : configurations) {
+			final Xpp3Dom child = configuration.getChild(name);
+			if (child != null) {
+				return Optional.some(child);
+			}
+		}
+		return Optional.none();
+	}
+
+	/**
+	 * @return The trimmed value of a simple parameter, if not empty.
+	 */
+	public Optional<String> getValue(final String name) {
+		return getChild(name).flatMap(c -> value(c));
+	}
+
+	/**
+	 * @return The trimmed values of the children of a list parameter, e.g.
+	 *         <code>&lt;args&gt;&lt;arg&gt;-feature&lt;/arg&gt;&lt;/args&gt;</code>.
+	 */
+	public List<String> getValues(final String name) {
+		final List<String> values = new ArrayList<>();
+		for (final Xpp3Dom child : getChild(name)) {
+			for (final Xpp3Dom item : child.getChildren()) {
+				value(item).foreach(v -> values.add(v));
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * @return The trimmed value of the given element, if not empty.
+	 */
+	public static Optional<String> value(final Xpp3Dom element) {
+		return Optional.of(element.getValue()).map(v -> v.trim()).filter(v -> !v.isEmpty());
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "(plugin=" + plugin.getKey() + ")";
+	}
+
+}
@@ -1,16 +1,26 @@
 package de.tobiasroeser.maven.eclipse;
 
-import static de.tototec.utils.functional.FList.distinct;
 import static de.tototec.utils.functional.FList.mkString;
 import static de.tototec.utils.functional.FList.take;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 import de.tototec.utils.functional.Optional;
 
 /**
  * Project configuration data used to generate Eclipse project files.
+ * <p>
+ * Instances are immutable. Use a {@link ProjectConfig.Mutable} to collect the
+ * configuration, e.g. in a {@link MavenProjectAnalyzer}, and
+ * {@link ProjectConfig.Mutable#build()} it once before generating the files.
  */
 public class ProjectConfig {
 
@@ -18,8 +28,11 @@ public class ProjectConfig {
 	private final String comment;
 	private final List<String> sources;
 	private final List<String> testSources;
+	private final List<String> optionalSources;
+	private final List<String> ignoreOptionalProblems;
 	private final List<Resource> resources;
 	private final List<Resource> testResources;
+	private final List<String> largeResources;
 	private final List<Builder> builders;
 	private final List<Nature> natures;
 	private final Optional<String> javaVersion;
@@ -28,52 +41,54 @@ public class ProjectConfig {
 	private final List<String> disabledBuilders;
 	private final List<String> classpathContainers;
 	private final List<SettingsFile> settingsFiles;
-
-	public ProjectConfig() {
-		this("", "",
-				Collections.emptyList(),
-				Collections.emptyList(),
-				Collections.emptyList(),
-				Collections.emptyList(),
-				Collections.emptyList(),
-				Collections.emptyList(),
-				Optional.of(System.getProperty("java.version")).map(v -> javaVersion(v)),
-				Optional.none(),
-				Collections.emptyList(),
-				Collections.emptyList(),
-				Collections.emptyList(),
-				Collections.emptyList());
-	}
-
-	public ProjectConfig(
-			final String name,
-			final String comment,
-			final List<String> sources,
-			final List<String> testSources,
-			final List<Resource> resources,
-			final List<Resource> testResources,
-			final List<Builder> builders,
-			final List<Nature> natures,
-			final Optional<String> javaVersion,
-			final Optional<String> encoding,
-			List<String> disabledNatures,
-			List<String> disabledBuilders,
-			List<String> classpathContainers,
-			List<SettingsFile> settingsFiles) {
-		this.name = name;
-		this.comment = comment;
-		this.sources = distinct(sources);
-		this.testSources = distinct(testSources);
-		this.resources = distinct(resources);
-		this.testResources = distinct(testResources);
-		this.builders = distinct(builders);
-		this.natures = distinct(natures);
-		this.javaVersion = javaVersion;
-		this.encoding = encoding;
-		this.disabledNatures = disabledNatures;
-		this.disabledBuilders = disabledBuilders;
-		this.classpathContainers = classpathContainers;
-		this.settingsFiles = settingsFiles;
+	private final List<String> projectReferences;
+	private final List<ProjectReference> classpathProjects;
+	private final List<Library> libraries;
+	private final Map<String, Map<String, String>> dependencyAttributes;
+	private final Map<String, Map<String, String>> classpathContainerAttributes;
+	private final List<String> factoryPath;
+	private final Map<String, String> jdtSettings;
+	private final List<ResourceFilter> resourceFilters;
+	private final List<String> incompleteReasons;
+
+	private ProjectConfig(final Mutable builder) {
+		this.name = builder.name;
+		this.comment = builder.comment;
+		this.sources = freeze(builder.sources);
+		this.testSources = freeze(builder.testSources);
+		this.optionalSources = freeze(builder.optionalSources);
+		this.ignoreOptionalProblems = freeze(builder.ignoreOptionalProblems);
+		this.resources = freeze(builder.resources);
+		this.testResources = freeze(builder.testResources);
+		this.largeResources = freeze(builder.largeResources);
+		this.builders = freeze(builder.builders);
+		this.natures = freeze(builder.natures);
+		this.javaVersion = builder.javaVersion;
+		this.encoding = builder.encoding;
+		this.disabledNatures = freeze(builder.disabledNatures);
+		this.disabledBuilders = freeze(builder.disabledBuilders);
+		this.classpathContainers = freeze(builder.classpathContainers);
+		this.settingsFiles = freeze(builder.settingsFiles);
+		this.projectReferences = freeze(builder.projectReferences);
+		this.classpathProjects = freeze(builder.classpathProjects.values());
+		this.libraries = freeze(builder.libraries);
+		this.dependencyAttributes = freezeAttributes(builder.dependencyAttributes);
+		this.classpathContainerAttributes = freezeAttributes(builder.classpathContainerAttributes);
+		this.factoryPath = freeze(builder.factoryPath);
+		this.jdtSettings = Collections.unmodifiableMap(new TreeMap<>(builder.jdtSettings));
+		this.resourceFilters = freeze(builder.resourceFilters);
+		this.incompleteReasons = freeze(builder.incompleteReasons);
+	}
+
+	private static <T> List<T> freeze(final Collection<T> elements) {
+		return Collections.unmodifiableList(new ArrayList<>(elements));
+	}
+
+	private static Map<String, Map<String, String>> freezeAttributes(
+			final Map<String, Map<String, String>> attributes) {
+		final Map<String, Map<String, String>> frozen = new LinkedHashMap<>();
+		attributes.forEach((k, v) -> frozen.put(k, Collections.unmodifiableMap(new LinkedHashMap<>(v))));
+		return Collections.unmodifiableMap(frozen);
 	}
 
 	public static String javaVersion(final String javaVersion) {
@@ -89,129 +104,150 @@ public class ProjectConfig {
 		return name;
 	}
 
-	public ProjectConfig withName(final String name) {
-		return  new ProjectConfig(name, comment, sources, testSources, resources, testResources, builders, natures,
-				javaVersion, encoding, disabledNatures, disabledBuilders, classpathContainers, settingsFiles);
-	}
-
 	public String getComment() {
 		return comment;
 	}
 
-	public ProjectConfig withComment(final String comment) {
-		return  new ProjectConfig(name, comment, sources, testSources, resources, testResources, builders, natures,
-				javaVersion, encoding, disabledNatures, disabledBuilders, classpathContainers, settingsFiles);
-	}
-
 	public List<String> getSources() {
 		return sources;
 	}
 
-	public ProjectConfig withSources(final List<String> sources) {
-		return  new ProjectConfig(name, comment, sources, testSources, resources, testResources, builders, natures,
-				javaVersion, encoding, disabledNatures, disabledBuilders, classpathContainers, settingsFiles);
-	}
-
 	public List<String> getTestSources() {
 		return testSources;
 	}
 
-	public ProjectConfig withTestSources(final List<String> testSources) {
-		return  new ProjectConfig(name, comment, sources, testSources, resources, testResources, builders, natures,
-				javaVersion, encoding, disabledNatures, disabledBuilders, classpathContainers, settingsFiles);
+	/**
+	 * @return The (test) sources, which are always optional.
+	 */
+	public List<String> getOptionalSources() {
+		return optionalSources;
 	}
 
-	public List<Resource> getResources() {
-		return resources;
+	/**
+	 * @return The (test) sources, whose optional compiler problems are not
+	 *         reported.
+	 */
+	public List<String> getIgnoreOptionalProblems() {
+		return ignoreOptionalProblems;
 	}
 
-	public ProjectConfig withResources(final List<Resource> resources) {
-		return  new ProjectConfig(name, comment, sources, testSources, resources, testResources, builders, natures,
-				javaVersion, encoding, disabledNatures, disabledBuilders, classpathContainers, settingsFiles);
+	public List<Resource> getResources() {
+		return resources;
 	}
 
 	public List<Resource> getTestResources() {
 		return testResources;
 	}
 
-	public ProjectConfig withTestResources(final List<Resource> testResources) {
-		return  new ProjectConfig(name, comment, sources, testSources, resources, testResources, builders, natures,
-				javaVersion, encoding, disabledNatures, disabledBuilders, classpathContainers, settingsFiles);
+	/**
+	 * @return The (test) resource directories, which are too large to be
+	 *         copied to the output directory.
+	 */
+	public List<String> getLargeResources() {
+		return largeResources;
 	}
 
 	public List<Builder> getBuilders() {
 		return builders;
 	}
 
-	public ProjectConfig withBuilders(final List<Builder> builders) {
-		return  new ProjectConfig(name, comment, sources, testSources, resources, testResources, builders, natures,
-				javaVersion, encoding, disabledNatures, disabledBuilders, classpathContainers, settingsFiles);
-	}
-
 	public List<Nature> getNatures() {
 		return natures;
 	}
 
-	public ProjectConfig withNatures(final List<Nature> natures) {
-		return  new ProjectConfig(name, comment, sources, testSources, resources, testResources, builders, natures,
-				javaVersion, encoding, disabledNatures, disabledBuilders, classpathContainers, settingsFiles);
-	}
-
 	public Optional<String> getJavaVersion() {
 		return javaVersion;
 	}
 
-	public ProjectConfig withJavaVersion(final Optional<String> javaVersion) {
-		return  new ProjectConfig(name, comment, sources, testSources, resources, testResources, builders, natures,
-				javaVersion, encoding, disabledNatures, disabledBuilders, classpathContainers, settingsFiles);
-	}
-
 	public Optional<String> getEncoding() {
 		return encoding;
 	}
 
-	public ProjectConfig withEncoding(final Optional<String> encoding) {
-		return  new ProjectConfig(name, comment, sources, testSources, resources, testResources, builders, natures,
-				javaVersion, encoding, disabledNatures, disabledBuilders, classpathContainers, settingsFiles);
-	}
-
 	public List<String> getDisabledBuilders() {
 		return disabledBuilders;
 	}
 
-	public ProjectConfig withDisabledBuilders(final List<String> disabledBuilders) {
-		return  new ProjectConfig(name, comment, sources, testSources, resources, testResources, builders, natures,
-				javaVersion, encoding, disabledNatures, disabledBuilders, classpathContainers, settingsFiles);
-	}
-
 	public List<String> getDisabledNatures() {
 		return disabledNatures;
 	}
 
-	public ProjectConfig withDisabledNatures(final List<String> disabledNatures) {
-		return  new ProjectConfig(name, comment, sources, testSources, resources, testResources, builders, natures,
-				javaVersion, encoding, disabledNatures, disabledBuilders, classpathContainers, settingsFiles);
-	}
-
 	public List<String> getClasspathContainers() {
 		return classpathContainers;
 	}
 
-	public ProjectConfig withClasspathContainers(List<String> classpathContainers) {
-		return  new ProjectConfig(name, comment, sources, testSources, resources, testResources, builders, natures,
-				javaVersion, encoding, disabledNatures, disabledBuilders, classpathContainers, settingsFiles);
-	}
-	
 	public List<SettingsFile> getSettingsFiles() {
 		return settingsFiles;
 	}
 
+	/**
+	 * @return The names of the referenced workspace projects.
+	 */
+	public List<String> getProjectReferences() {
+		return projectReferences;
+	}
+
+	/**
+	 * @return The workspace projects to add as classpath entries.
+	 */
+	public List<ProjectReference> getClasspathProjects() {
+		return classpathProjects;
+	}
+
+	/**
+	 * @return The resolved libraries to add as classpath entries.
+	 */
+	public List<Library> getLibraries() {
+		return libraries;
+	}
+
+	/**
+	 * @return The additional classpath attributes of project and library
+	 *         entries, keyed by the <code>groupId:artifactId</code> of the
+	 *         dependency.
+	 */
+	public Map<String, Map<String, String>> getDependencyAttributes() {
+		return dependencyAttributes;
+	}
+
+	/**
+	 * @return The additional classpath attributes of container entries,
+	 *         keyed by the path of the container.
+	 */
+	public Map<String, Map<String, String>> getClasspathContainerAttributes() {
+		return classpathContainerAttributes;
+	}
+
+	/**
+	 * @return The jar files of the annotation processors.
+	 */
+	public List<String> getFactoryPath() {
+		return factoryPath;
+	}
 
-	public ProjectConfig withSettingsFiles(List<SettingsFile> settingsFiles) {
-		return new ProjectConfig(name, comment, sources, testSources, resources, testResources, builders, natures,
-				javaVersion, encoding, disabledNatures, disabledBuilders, classpathContainers, settingsFiles);
+	/**
+	 * @return Additional settings of <code>org.eclipse.jdt.core.prefs</code>,
+	 *         sorted by key.
+	 */
+	public Map<String, String> getJdtSettings() {
+		return jdtSettings;
 	}
 
+	/**
+	 * @return The resource filters of the <code>.project</code> file.
+	 */
+	public List<ResourceFilter> getResourceFilters() {
+		return resourceFilters;
+	}
+
+	/**
+	 * @return The reasons, why this configuration might be incomplete, e.g.
+	 *         artifacts which could not be resolved. The generated files of
+	 *         an incomplete configuration must not be considered up-to-date
+	 *         in a later run.
+	 */
+	public List<String> getIncompleteReasons() {
+		return incompleteReasons;
+	}
 
 	@Override
 	public String toString() {
@@ -221,7 +257,10 @@ public class ProjectConfig {
 				"\n  sources: " + sources +
 				"\n  resources: " + resources +
 				"\n  testSources: " + testSources +
+				"\n  optionalSources: " + optionalSources +
+				"\n  ignoreOptionalProblems: " + ignoreOptionalProblems +
 				"\n  testResources: " + testResources +
+				"\n  largeResources: " + largeResources +
 				"\n  builders: " + builders +
 				"\n  natures: " + natures +
 				"\n  javaVersion: " + javaVersion +
@@ -230,6 +269,371 @@ public class ProjectConfig {
 				"\n  disabledBuilders: " + disabledBuilders +
 				"\n  classpathContainers: " + classpathContainers +
 				"\n  settingsFiles: " + settingsFiles +
+				"\n  projectReferences: " + projectReferences +
+				"\n  classpathProjects: " + classpathProjects +
+				"\n  libraries: " + libraries +
+				"\n  dependencyAttributes: " + dependencyAttributes +
+				"\n  classpathContainerAttributes: " + classpathContainerAttributes +
+				"\n  factoryPath: " + factoryPath +
+				"\n  jdtSettings: " + jdtSettings +
+				"\n  resourceFilters: " + resourceFilters +
+				"\n  incompleteReasons: " + incompleteReasons +
 				"\n}";
 	}
+
+	/**
+	 * Mutable collector of a {@link ProjectConfig}. All list-like properties
+	 * keep their insertion order and silently ignore duplicates.
+	 * <p>
+	 * Instances are not thread-safe.
+	 */
+	public static class Mutable {
+
+		private String name = "";
+		private String comment = "";
+		private final Set<String> sources = new LinkedHashSet<>();
+		private final Set<String> testSources = new LinkedHashSet<>();
+		private final Set<String> optionalSources = new LinkedHashSet<>();
+		private final Set<String> ignoreOptionalProblems = new LinkedHashSet<>();
+		private final Set<Resource> resources = new LinkedHashSet<>();
+		private final Set<Resource> testResources = new LinkedHashSet<>();
+		private final Set<String> largeResources = new LinkedHashSet<>();
+		private Set<Builder> builders = new LinkedHashSet<>();
+		private Set<Nature> natures = new LinkedHashSet<>();
+		private Optional<String> javaVersion = Optional.of(System.getProperty("java.version"))
+				.map(v -> javaVersion(v));
+		private Optional<String> encoding = Optional.none();
+		private final Set<String> disabledNatures = new LinkedHashSet<>();
+		private final Set<String> disabledBuilders = new LinkedHashSet<>();
+		private final Set<String> classpathContainers = new LinkedHashSet<>();
+		private final List<SettingsFile> settingsFiles = new ArrayList<>();
+		private final Set<String> projectReferences = new LinkedHashSet<>();
+		private final Map<String, ProjectReference> classpathProjects = new LinkedHashMap<>();
+		private final Set<Library> libraries = new LinkedHashSet<>();
+		private final Map<String, Map<String, String>> dependencyAttributes = new LinkedHashMap<>();
+		private final Map<String, Map<String, String>> classpathContainerAttributes = new LinkedHashMap<>();
+		private final Set<String> factoryPath = new LinkedHashSet<>();
+		private final Map<String, String> jdtSettings = new LinkedHashMap<>();
+		private final Set<ResourceFilter> resourceFilters = new LinkedHashSet<>();
+		private final List<String> incompleteReasons = new ArrayList<>();
+
+		public ProjectConfig build() {
+			return new ProjectConfig(this);
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Mutable setName(final String name) {
+			this.name = name;
+			return this;
+		}
+
+		public String getComment() {
+			return comment;
+		}
+
+		public Mutable setComment(final String comment) {
+			this.comment = comment;
+			return this;
+		}
+
+		public Collection<String> getSources() {
+			return Collections.unmodifiableCollection(sources);
+		}
+
+		public Mutable addSources(final Collection<String> sources) {
+			this.sources.addAll(sources);
+			return this;
+		}
+
+		public Collection<String> getTestSources() {
+			return Collections.unmodifiableCollection(testSources);
+		}
+
+		public Mutable addTestSources(final Collection<String> testSources) {
+			this.testSources.addAll(testSources);
+			return this;
+		}
+
+		public Collection<String> getOptionalSources() {
+			return Collections.unmodifiableCollection(optionalSources);
+		}
+
+		/**
+		 * Marks the given (test) sources as always optional. This does not
+		 * add them as sources.
+		 */
+		public Mutable addOptionalSources(final Collection<String> optionalSources) {
+			this.optionalSources.addAll(optionalSources);
+			return this;
+		}
+
+		public Collection<String> getIgnoreOptionalProblems() {
+			return Collections.unmodifiableCollection(ignoreOptionalProblems);
+		}
+
+		/**
+		 * Marks the given (test) sources to not report optional compiler
+		 * problems. This does not add them as sources.
+		 */
+		public Mutable addIgnoreOptionalProblems(final Collection<String> ignoreOptionalProblems) {
+			this.ignoreOptionalProblems.addAll(ignoreOptionalProblems);
+			return this;
+		}
+
+		public Collection<Resource> getResources() {
+			return Collections.unmodifiableCollection(resources);
+		}
+
+		public Mutable addResources(final Collection<Resource> resources) {
+			this.resources.addAll(resources);
+			return this;
+		}
+
+		public Collection<Resource> getTestResources() {
+			return Collections.unmodifiableCollection(testResources);
+		}
+
+		public Mutable addTestResources(final Collection<Resource> testResources) {
+			this.testResources.addAll(testResources);
+			return this;
+		}
+
+		public Collection<String> getLargeResources() {
+			return Collections.unmodifiableCollection(largeResources);
+		}
+
+		/**
+		 * Marks the given (test) resource directories as too large to be
+		 * copied. This does not add them as resources.
+		 */
+		public Mutable addLargeResources(final Collection<String> largeResources) {
+			this.largeResources.addAll(largeResources);
+			return this;
+		}
+
+		public Collection<Builder> getBuilders() {
+			return Collections.unmodifiableCollection(builders);
+		}
+
+		public Mutable addBuilder(final Builder builder) {
+			builders.add(builder);
+			return this;
+		}
+
+		public Mutable addBuilders(final Collection<Builder> builders) {
+			this.builders.addAll(builders);
+			return this;
+		}
+
+		/**
+		 * Adds the builder as first builder.
+		 */
+		public Mutable prependBuilder(final Builder builder) {
+			final Set<Builder> updated = new LinkedHashSet<>();
+			updated.add(builder);
+			updated.addAll(builders);
+			builders = updated;
+			return this;
+		}
+
+		public Collection<Nature> getNatures() {
+			return Collections.unmodifiableCollection(natures);
+		}
+
+		public Mutable addNature(final Nature nature) {
+			natures.add(nature);
+			return this;
+		}
+
+		public Mutable addNatures(final Collection<Nature> natures) {
+			this.natures.addAll(natures);
+			return this;
+		}
+
+		/**
+		 * Adds the nature as first nature, which makes it the primary nature
+		 * of the project.
+		 */
+		public Mutable prependNature(final Nature nature) {
+			final Set<Nature> updated = new LinkedHashSet<>();
+			updated.add(nature);
+			updated.addAll(natures);
+			natures = updated;
+			return this;
+		}
+
+		public Optional<String> getJavaVersion() {
+			return javaVersion;
+		}
+
+		public Mutable setJavaVersion(final Optional<String> javaVersion) {
+			this.javaVersion = javaVersion;
+			return this;
+		}
+
+		public Optional<String> getEncoding() {
+			return encoding;
+		}
+
+		public Mutable setEncoding(final Optional<String> encoding) {
+			this.encoding = encoding;
+			return this;
+		}
+
+		public Collection<String> getDisabledNatures() {
+			return Collections.unmodifiableCollection(disabledNatures);
+		}
+
+		public Mutable addDisabledNature(final String disabledNature) {
+			disabledNatures.add(disabledNature);
+			return this;
+		}
+
+		public Collection<String> getDisabledBuilders() {
+			return Collections.unmodifiableCollection(disabledBuilders);
+		}
+
+		public Mutable addDisabledBuilder(final String disabledBuilder) {
+			disabledBuilders.add(disabledBuilder);
+			return this;
+		}
+
+		public Collection<String> getClasspathContainers() {
+			return Collections.unmodifiableCollection(classpathContainers);
+		}
+
+		public Mutable addClasspathContainer(final String classpathContainer) {
+			classpathContainers.add(classpathContainer);
+			return this;
+		}
+
+		public List<SettingsFile> getSettingsFiles() {
+			return Collections.unmodifiableList(settingsFiles);
+		}
+
+		public Mutable addSettingsFile(final SettingsFile settingsFile) {
+			settingsFiles.add(settingsFile);
+			return this;
+		}
+
+		public Collection<String> getProjectReferences() {
+			return Collections.unmodifiableCollection(projectReferences);
+		}
+
+		public Mutable addProjectReferences(final Collection<String> projectReferences) {
+			this.projectReferences.addAll(projectReferences);
+			return this;
+		}
+
+		public Collection<ProjectReference> getClasspathProjects() {
+			return Collections.unmodifiableCollection(classpathProjects.values());
+		}
+
+		/**
+		 * Adds the projects. A project added more than once is only a test
+		 * project, if it was always added as test project.
+		 */
+		public Mutable addClasspathProjects(final Collection<ProjectReference> classpathProjects) {
+			for (final ProjectReference project : classpathProjects) {
+				this.classpathProjects.merge(project.getName(), project,
+						(a, b) -> a.isTest() && !b.isTest() ? b : a);
+			}
+			return this;
+		}
+
+		public Collection<Library> getLibraries() {
+			return Collections.unmodifiableCollection(libraries);
+		}
+
+		public Mutable addLibraries(final Collection<Library> libraries) {
+			this.libraries.addAll(libraries);
+			return this;
+		}
+
+		public Map<String, Map<String, String>> getDependencyAttributes() {
+			return Collections.unmodifiableMap(dependencyAttributes);
+		}
+
+		/**
+		 * Adds a classpath attribute to the project or library entry of the
+		 * given dependency.
+		 *
+		 * @param dependencyKey
+		 *            The <code>groupId:artifactId</code> of the dependency.
+		 */
+		public Mutable addDependencyAttribute(final String dependencyKey, final String name, final String value) {
+			dependencyAttributes.computeIfAbsent(dependencyKey, k -> new LinkedHashMap<>()).put(name, value);
+			return this;
+		}
+
+		public Map<String, Map<String, String>> getClasspathContainerAttributes() {
+			return Collections.unmodifiableMap(classpathContainerAttributes);
+		}
+
+		/**
+		 * Adds a classpath attribute to the entry of the given container, if
+		 * the container is added.
+		 */
+		public Mutable addClasspathContainerAttribute(final String classpathContainer, final String name,
+				final String value) {
+			classpathContainerAttributes.computeIfAbsent(classpathContainer, k -> new LinkedHashMap<>())
+					.put(name, value);
+			return this;
+		}
+
+		public Collection<String> getFactoryPath() {
+			return Collections.unmodifiableCollection(factoryPath);
+		}
+
+		public Mutable addFactoryPath(final Collection<String> factoryPath) {
+			this.factoryPath.addAll(factoryPath);
+			return this;
+		}
+
+		public Map<String, String> getJdtSettings() {
+			return Collections.unmodifiableMap(jdtSettings);
+		}
+
+		/**
+		 * Sets a setting of <code>org.eclipse.jdt.core.prefs</code>. A later
+		 * call with the same key wins.
+		 */
+		public Mutable putJdtSetting(final String key, final String value) {
+			jdtSettings.put(key, value);
+			return this;
+		}
+
+		public Collection<ResourceFilter> getResourceFilters() {
+			return Collections.unmodifiableCollection(resourceFilters);
+		}
+
+		public Mutable addResourceFilters(final Collection<ResourceFilter> resourceFilters) {
+			this.resourceFilters.addAll(resourceFilters);
+			return this;
+		}
+
+		public Collection<String> getIncompleteReasons() {
+			return Collections.unmodifiableCollection(incompleteReasons);
+		}
+
+		/**
+		 * Marks the configuration as possibly incomplete, e.g. because some
+		 * artifacts could not be resolved, so that it is generated again in
+		 * the next run.
+		 */
+		public Mutable addIncompleteReason(final String reason) {
+			incompleteReasons.add(reason);
+			return this;
+		}
+
+		@Override
+		public String toString() {
+			return build().toString();
+		}
+
+	}
+
 }
@@ -0,0 +1,75 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.Objects;
+
+import de.tototec.utils.functional.Optional;
+
+/**
+ * A reference to another Eclipse project of the workspace, typically another
+ * project of the same reactor.
+ */
+public class ProjectReference {
+
+	private final String name;
+	private final boolean test;
+	private final Optional<String> dependencyKey;
+
+	/**
+	 * @param name
+	 *            The Eclipse project name.
+	 * @param test
+	 *            <code>true</code>, if the referenced project is only needed
+	 *            for tests.
+	 */
+	public ProjectReference(final String name, final boolean test) {
+		this(name, test, Optional.none());
+	}
+
+	/**
+	 * @param dependencyKey
+	 *            The <code>groupId:artifactId</code> of the dependency to the
+	 *            referenced project.
+	 */
+	public ProjectReference(final String name, final boolean test, final Optional<String> dependencyKey) {
+		this.name = name;
+		this.test = test;
+		this.dependencyKey = dependencyKey;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public boolean isTest() {
+		return test;
+	}
+
+	public Optional<String> getDependencyKey() {
+		return dependencyKey;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (!(obj instanceof ProjectReference)) {
+			return false;
+		}
+		final ProjectReference other = (ProjectReference) obj;
+		return name.equals(other.name) && test == other.test
+				&& Objects.equals(dependencyKey.getOrElse(null), other.dependencyKey.getOrElse(null));
+	}
+
+	@Override
+	public int hashCode() {
+		return name.hashCode() * 31 + (test ? 1 : 0);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() +
+				"(name=" + name +
+				",test=" + test +
+				",dependencyKey=" + dependencyKey.getOrElse(null) +
+				")";
+	}
+
+}
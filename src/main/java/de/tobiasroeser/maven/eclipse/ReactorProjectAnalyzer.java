@@ -0,0 +1,49 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tototec.utils.functional.FList.map;
+
+import java.util.List;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Adds references to the other projects of the reactor the project depends
+ * on.
+ */
+public class ReactorProjectAnalyzer implements MavenProjectAnalyzer {
+
+	private final Log log;
+	private final ReactorReferences reactorReferences;
+	private final boolean projectReferences;
+	private final boolean classpathEntries;
+
+	/**
+	 * @param projectReferences
+	 *            Add the referenced projects to the <code>.project</code>
+	 *            file.
+	 * @param classpathEntries
+	 *            Add the referenced projects to the <code>.classpath</code>
+	 *            file.
+	 */
+	public ReactorProjectAnalyzer(final Log log, final ReactorReferences reactorReferences,
+			final boolean projectReferences, final boolean classpathEntries) {
+		this.log = log;
+		this.reactorReferences = reactorReferences;
+		this.projectReferences = projectReferences;
+		this.classpathEntries = classpathEntries;
+	}
+
+	@Override
+	public void analyze(final ProjectConfig.Mutable projectConfig, final MavenProject mavenProject) {
+		final List<ProjectReference> references = reactorReferences.get(mavenProject);
+		log.debug("Found references to reactor projects: " + references);
+		if (projectReferences) {
+			projectConfig.addProjectReferences(map(references, r -> r.getName()));
+		}
+		if (classpathEntries) {
+			projectConfig.addClasspathProjects(references);
+		}
+	}
+
+}
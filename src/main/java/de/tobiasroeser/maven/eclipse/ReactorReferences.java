@@ -0,0 +1,91 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.execution.ProjectDependencyGraph;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+
+import de.tototec.utils.functional.FList;
+import de.tototec.utils.functional.Optional;
+
+/**
+ * The references of each reactor project to the other reactor projects it
+ * depends on.
+ * <p>
+ * The references of all projects are computed in a single pass over the
+ * project dependency graph of the session, and are shared by all mojo
+ * executions of that session.
+ * <p>
+ * If the projects change during a session (e.g. because a pom was re-read),
+ * use {@link #of(Collection)} to compute fresh references.
+ * <p>
+ * Instances are immutable.
+ */
+public class ReactorReferences {
+
+	private static final Map<Object, ReactorReferences> cache = new WeakHashMap<>();
+
+	private final Map<String, List<ProjectReference>> references = new HashMap<>();
+
+	public static ReactorReferences of(final MavenSession session) {
+		final Object key = session.getProjectDependencyGraph() != null ? session.getProjectDependencyGraph() : session;
+		synchronized (cache) {
+			return cache.computeIfAbsent(key, k -> {
+				final ProjectDependencyGraph graph = session.getProjectDependencyGraph();
+				return new ReactorReferences(graph != null ? graph.getSortedProjects() : session.getProjects(), graph);
+			});
+		}
+	}
+
+	/**
+	 * @return The references between the given projects, which are not
+	 *         cached.
+	 */
+	public static ReactorReferences of(final Collection<MavenProject> projects) {
+		return new ReactorReferences(new ArrayList<>(projects), null);
+	}
+
+	private ReactorReferences(final List<MavenProject> projects, final ProjectDependencyGraph graph) {
+		for (final MavenProject project : projects) {
+			// key: groupId:artifactId, value: only needed for tests
+			final Map<String, Boolean> dependencies = new LinkedHashMap<>();
+			for (final Dependency dep : project.getDependencies()) {
+				final boolean test = "test".equals(dep.getScope());
+				dependencies.merge(dep.getGroupId() + ":" + dep.getArtifactId(), test, (a, b) -> a && b);
+			}
+
+			// The graph also contains upstream projects, which are no
+			// dependencies, e.g. parent projects and plugins
+			final List<MavenProject> upstream = graph != null ? graph.getUpstreamProjects(project, false) : projects;
+			final List<ProjectReference> projectReferences = FList.flatten(FList.map(upstream, u -> {
+				final String key = u.getGroupId() + ":" + u.getArtifactId();
+				final Boolean test = dependencies.get(key);
+				if (test == null || u == project || "pom".equals(u.getPackaging())) {
+					return Collections.<ProjectReference> emptyList();
+				} else {
+					return Collections.singletonList(new ProjectReference(MinimalPomAnalyzer.projectName(u), test,
+							Optional.some(key)));
+				}
+			}));
+			references.put(project.getId(), Collections.unmodifiableList(projectReferences));
+		}
+	}
+
+	/**
+	 * @return The references of the given project in reactor order.
+	 */
+	public List<ProjectReference> get(final MavenProject project) {
+		final List<ProjectReference> projectReferences = references.get(project.getId());
+		return projectReferences != null ? projectReferences : Collections.emptyList();
+	}
+
+}
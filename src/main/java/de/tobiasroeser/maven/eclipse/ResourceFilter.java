@@ -0,0 +1,94 @@
+package de.tobiasroeser.maven.eclipse;
+
+/**
+ * A resource filter of the <code>.project</code> file, which keeps matching
+ * files and folders out of the Eclipse resource tree.
+ */
+public class ResourceFilter {
+
+	/** Only include the matching resources. */
+	public static final int INCLUDE_ONLY = 1;
+	/** Exclude the matching resources. */
+	public static final int EXCLUDE_ALL = 2;
+	/** Apply to files. */
+	public static final int FILES = 4;
+	/** Apply to folders. */
+	public static final int FOLDERS = 8;
+	/** Apply to all descendants, not only the direct children. */
+	public static final int INHERITABLE = 16;
+
+	private final String path;
+	private final int type;
+	private final String pattern;
+	private final boolean regex;
+
+	/**
+	 * @param path
+	 *            The project relative path of the folder the filter applies
+	 *            to, or an empty string for the project itself.
+	 * @param type
+	 *            A combination of the type flags, e.g.
+	 *            <code>EXCLUDE_ALL | FOLDERS</code>.
+	 * @param pattern
+	 *            The pattern, the resource name is matched against.
+	 * @param regex
+	 *            <code>true</code>, if the pattern is a regular expression,
+	 *            <code>false</code> for a wildcard pattern.
+	 */
+	public ResourceFilter(final String path, final int type, final String pattern, final boolean regex) {
+		this.path = path;
+		this.type = type;
+		this.pattern = pattern;
+		this.regex = regex;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public int getType() {
+		return type;
+	}
+
+	public String getPattern() {
+		return pattern;
+	}
+
+	public boolean isRegex() {
+		return regex;
+	}
+
+	/**
+	 * @return The arguments of the <code>org.eclipse.ui.ide.multiFilter</code>
+	 *         matcher.
+	 */
+	public String getMatcherArguments() {
+		return "1.0-name-matches-false-" + regex + "-" + pattern;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (!(obj instanceof ResourceFilter)) {
+			return false;
+		}
+		final ResourceFilter other = (ResourceFilter) obj;
+		return path.equals(other.path) && type == other.type && pattern.equals(other.pattern)
+				&& regex == other.regex;
+	}
+
+	@Override
+	public int hashCode() {
+		return (path.hashCode() * 31 + pattern.hashCode()) * 31 + type;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() +
+				"(path=" + path +
+				",type=" + type +
+				",pattern=" + pattern +
+				",regex=" + regex +
+				")";
+	}
+
+}
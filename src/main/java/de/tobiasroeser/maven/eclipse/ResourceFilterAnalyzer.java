@@ -0,0 +1,146 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tototec.utils.functional.FList.map;
+import static de.tototec.utils.functional.FList.mkString;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+import de.tototec.utils.functional.Optional;
+
+/**
+ * Adds resource filters, which keep large generated trees out of the Eclipse
+ * resource tree:
+ * <ul>
+ * <li>all content of the build directory, except the output directories,
+ * (generated) source roots and the <code>generated-sources</code> and
+ * <code>generated-test-sources</code> directories,
+ * <li>all <code>node_modules</code> folders,
+ * <li>the Node installation of the frontend-maven-plugin,
+ * <li>the configured additional excludes.
+ * </ul>
+ */
+public class ResourceFilterAnalyzer implements MavenProjectAnalyzer {
+
+	public static final String COM_GITHUB_EIRSLETT_FRONTEND_MAVEN_PLUGIN = "com.github.eirslett:frontend-maven-plugin";
+
+	/**
+	 * Directories of the build directory, which are never filtered, as
+	 * generators (also the ones run by m2e) put source roots there, which may
+	 * not be known yet.
+	 */
+	public static final List<String> GENERATED_DIRECTORIES = Collections.unmodifiableList(Arrays.asList(
+			"generated-sources",
+			"generated-test-sources"));
+
+	private final Log log;
+	private final List<String> outputDirectories;
+	private final List<String> excludes;
+
+	/**
+	 * @param outputDirectories
+	 *            The output directories of the Eclipse project, which must
+	 *            not be filtered.
+	 * @param excludes
+	 *            Additional excludes. A name (or wildcard pattern) excludes
+	 *            all matching files and folders of the project, a project
+	 *            relative path excludes exactly that file or folder.
+	 */
+	public ResourceFilterAnalyzer(final Log log, final List<String> outputDirectories, final List<String> excludes) {
+		this.log = log;
+		this.outputDirectories = outputDirectories;
+		this.excludes = excludes;
+	}
+
+	@Override
+	public void analyze(final ProjectConfig.Mutable projectConfig, final MavenProject mavenProject) {
+		final Path basedir = mavenProject.getBasedir().toPath().toAbsolutePath().normalize();
+		final List<ResourceFilter> filters = new ArrayList<>();
+
+		buildDirectoryFilter(projectConfig, mavenProject, basedir).foreach(f -> filters.add(f));
+
+		filters.add(new ResourceFilter("", ResourceFilter.EXCLUDE_ALL | ResourceFilter.FOLDERS
+				| ResourceFilter.INHERITABLE, "node_modules", false));
+
+		PluginConfiguration.of(mavenProject, COM_GITHUB_EIRSLETT_FRONTEND_MAVEN_PLUGIN).foreach(p -> {
+			final Path installDirectory = resolve(basedir, p.getValue("installDirectory").getOrElse(""));
+			if (installDirectory.startsWith(basedir)) {
+				filters.add(new ResourceFilter(slashed(basedir.relativize(installDirectory)),
+						ResourceFilter.EXCLUDE_ALL | ResourceFilter.FOLDERS, "node", false));
+			}
+		});
+
+		for (final String exclude : excludes) {
+			final String normalized = exclude.replace('\\', '/').replaceAll("^/+|/+$", "");
+			final int slash = normalized.lastIndexOf('/');
+			if (normalized.isEmpty()) {
+				continue;
+			} else if (slash < 0) {
+				filters.add(new ResourceFilter("", ResourceFilter.EXCLUDE_ALL | ResourceFilter.FILES
+						| ResourceFilter.FOLDERS | ResourceFilter.INHERITABLE, normalized, false));
+			} else {
+				filters.add(new ResourceFilter(normalized.substring(0, slash), ResourceFilter.EXCLUDE_ALL
+						| ResourceFilter.FILES | ResourceFilter.FOLDERS, normalized.substring(slash + 1), false));
+			}
+		}
+
+		log.debug("Adding resource filters: " + filters);
+		projectConfig.addResourceFilters(filters);
+	}
+
+	/**
+	 * @return A filter excluding the content of the build directory, except
+	 *         the directories containing output directories or source roots
+	 *         and the {@link #GENERATED_DIRECTORIES}.
+	 */
+	protected Optional<ResourceFilter> buildDirectoryFilter(final ProjectConfig.Mutable projectConfig,
+			final MavenProject mavenProject, final Path basedir) {
+		final Path buildDirectory = resolve(basedir, mavenProject.getBuild().getDirectory());
+		if (!buildDirectory.startsWith(basedir) || buildDirectory.equals(basedir)) {
+			return Optional.none();
+		}
+
+		final List<String> used = new ArrayList<>(outputDirectories);
+		used.addAll(projectConfig.getSources());
+		used.addAll(projectConfig.getTestSources());
+		used.addAll(map(projectConfig.getResources(), r -> r.getPath()));
+		used.addAll(map(projectConfig.getTestResources(), r -> r.getPath()));
+
+		final Set<String> keep = new TreeSet<>(GENERATED_DIRECTORIES);
+		for (final String dir : used) {
+			final Path path = resolve(basedir, dir);
+			if (path.equals(buildDirectory)) {
+				log.debug("Not filtering build directory, as it is used directly: " + path);
+				return Optional.none();
+			} else if (path.startsWith(buildDirectory)) {
+				keep.add(buildDirectory.relativize(path).getName(0).toString());
+			}
+		}
+
+		return Optional.some(new ResourceFilter(slashed(basedir.relativize(buildDirectory)),
+				ResourceFilter.EXCLUDE_ALL | ResourceFilter.FILES | ResourceFilter.FOLDERS,
+				"(?!(" + mkString(map(keep, n -> quote(n)), "|") + ")$).*", true));
+	}
+
+	private static Path resolve(final Path basedir, final String path) {
+		return basedir.resolve(new File(path).toPath()).normalize();
+	}
+
+	private static String slashed(final Path path) {
+		return path.toString().replace(File.separatorChar, '/');
+	}
+
+	private static String quote(final String name) {
+		return name.replaceAll("[\\\\^$.|?*+()\\[\\]{}]", "\\\\$0");
+	}
+
+}
@@ -0,0 +1,27 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.List;
+
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+
+public class ScalaAnalyzerProvider implements AnalyzerProvider {
+
+	@Override
+	public List<String> getTriggerPlugins() {
+		return ScalaProjectAnalyzer.SCALA_PLUGINS;
+	}
+
+	@Override
+	public int getOrder() {
+		return 100;
+	}
+
+	@Override
+	public MavenProjectAnalyzer createAnalyzer(final Log log, final boolean autodetect,
+			final RepositorySystem repositorySystem, final RepositorySystemSession repositorySession) {
+		return new ScalaProjectAnalyzer(log, autodetect, repositorySystem, repositorySession);
+	}
+
+}
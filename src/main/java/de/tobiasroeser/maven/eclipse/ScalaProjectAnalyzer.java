@@ -1,18 +1,24 @@
 package de.tobiasroeser.maven.eclipse;
 
-import static de.tototec.utils.functional.FList.append;
-import static de.tototec.utils.functional.FList.exists;
+import static de.tototec.utils.functional.FList.filter;
 import static de.tototec.utils.functional.FList.flatten;
 import static de.tototec.utils.functional.FList.map;
 import static de.tototec.utils.functional.FList.mkString;
-import static de.tototec.utils.functional.FList.prepend;
 import static de.tototec.utils.functional.FList.take;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
 
 import de.tototec.utils.functional.Optional;
 
@@ -22,90 +28,175 @@ public class ScalaProjectAnalyzer implements MavenProjectAnalyzer {
 	public static final String ORG_SCALA_IDE_SDT_CORE_SCALANATURE = "org.scala-ide.sdt.core.scalanature";
 	public static final String ORG_SCALA_IDE_SDT_LAUNCHING_SCALA_COMPILER_CONTAINER = "org.scala-ide.sdt.launching.SCALA_COMPILER_CONTAINER";
 
+	/**
+	 * The keys of the supported Scala compiler plugins.
+	 */
+	public static final List<String> SCALA_PLUGINS = Collections.unmodifiableList(Arrays.asList(
+			"net.alchim31.maven:scala-maven-plugin",
+			"com.google.code.sbt-compiler-maven-plugin:sbt-compiler-maven-plugin",
+			"com.carrotgarden.maven:scalor-maven-plugin_2.12",
+			"com.carrotgarden.maven:scalor-maven-plugin_2.13"));
+
 	private final Log log;
 	private final boolean addingAllowed;
-
-	public ScalaProjectAnalyzer(Log log, boolean addingAllowed) {
+	private final RepositorySystem repositorySystem;
+	private final RepositorySystemSession repositorySession;
+
+	/**
+	 * @param repositorySystem
+	 *            Used with the repositorySession to resolve the configured
+	 *            compiler plugins. If <code>null</code>, no compiler plugins
+	 *            are configured.
+	 */
+	public ScalaProjectAnalyzer(Log log, boolean addingAllowed, RepositorySystem repositorySystem,
+			RepositorySystemSession repositorySession) {
 		this.log = log;
 		this.addingAllowed = addingAllowed;
+		this.repositorySystem = repositorySystem;
+		this.repositorySession = repositorySession;
 	}
 
+	/**
+	 * Only invoked for projects using one of the {@link #SCALA_PLUGINS}, see
+	 * {@link ScalaAnalyzerProvider}.
+	 */
 	@Override
-	public ProjectConfig analyze(ProjectConfig projectConfig, MavenProject mavenProject) {
-		ProjectConfig updated = projectConfig;
-
-		final List<String> scalaPlugins = Arrays.asList(
-				"net.alchim31.maven:scala-maven-plugin",
-				"com.google.code.sbt-compiler-maven-plugin:sbt-compiler-maven-plugin",
-				"com.carrotgarden.maven:scalor-maven-plugin_2.12",
-				"com.carrotgarden.maven:scalor-maven-plugin_2.13");
-
-		final boolean pluginDetected = exists(
-				mavenProject.getPluginArtifactMap().keySet(),
-				key -> exists(
-						scalaPlugins,
-						p -> p.equals(key)));
-
-		if (pluginDetected) {
-			log.debug("Detected scala plugin");
-
-			// FList.toHashMap("org.scala-ide.sdt.core.prefs", printStream -> {
-			// TODO: generate settings file
-
-			// scala.compiler.installation=2.11
-			// scala.compiler.sourceLevel=2.11
-			// target=jvm-1.8
-
-			if (addingAllowed) {
-				final Optional<String> scalaVersion = Optional
-						.of(mavenProject.getProperties().getProperty("scala.version"))
-						.map(v -> mkString(take(v.split("[.]"), 2), "."));
-
-				final Optional<String> javaVersion = projectConfig.getJavaVersion();
-
-				class Helper {
-					String relativePath(String path) {
-						return Util.relativePath(mavenProject, path);
-					}
-				}
-				final Helper util = new Helper();
-
-				final List<String> settings = flatten(
-						Arrays.asList(
-								map(projectConfig.getSources(), s -> "//" + util.relativePath(s) + "=main"),
-								map(projectConfig.getResources(), s -> "//" + util.relativePath(s.getPath()) + "=main"),
-								map(projectConfig.getTestSources(), s -> "//" + util.relativePath(s) + "=tests"),
-								map(projectConfig.getTestResources(),
-										s -> "//" + util.relativePath(s.getPath()) + "=tests"),
-								Optional.some("P="),
-								scalaVersion.map(v -> "scala.compiler.additionalParams=\\ -Xsource\\:" + v),
-								scalaVersion.map(v -> "scala.compiler.installation=" + v),
-								scalaVersion.map(v -> "scala.compiler.sourceLevel=" + v),
-								Optional.some("scala.compiler.useProjectSettings=true"),
-								Optional.some("stopBuildOnError=true"),
-								javaVersion.map(v -> "target=jvm-" + v),
-								Optional.some("useScopesCompiler=true"),
-								Optional.none()));
-				final SettingsFile settingsFile = new SettingsFile("org.scala-ide.sdt.core.prefs", settings);
-
-				log.debug("Adding scala nature and builder, disabling java nature and builder");
-				updated = updated
-						.withNatures(prepend(
-								new Nature(ORG_SCALA_IDE_SDT_CORE_SCALANATURE, "Auto-detected from pom"),
-								updated.getNatures()))
-						.withBuilders(prepend(
-								new Builder(ORG_SCALA_IDE_SDT_CORE_SCALABUILDER, "Auto-detected from pom"),
-								updated.getBuilders()))
-						.withClasspathContainers(append(updated.getClasspathContainers(),
-								ORG_SCALA_IDE_SDT_LAUNCHING_SCALA_COMPILER_CONTAINER))
-						.withDisabledBuilders(append(updated.getDisabledBuilders(),
-								JavaProjectAnalyzer.ORG_ECLIPSE_JDT_CORE_JAVABUILDER))
-						.withSettingsFiles(append(updated.getSettingsFiles(), settingsFile));
+	public void analyze(ProjectConfig.Mutable projectConfig, MavenProject mavenProject) {
+		if (addingAllowed) {
+			final Optional<PluginConfiguration> plugin = PluginConfiguration.of(mavenProject, SCALA_PLUGINS);
+			plugin.foreach(p -> log.debug("Reading scala compiler settings from " + p));
+
+			final Optional<String> scalaVersion = plugin
+					.flatMap(p -> scalaVersion(p))
+					.orElse(Optional.of(mavenProject.getProperties().getProperty("scala.version")))
+					.map(v -> mkString(take(v.split("[.]"), 2), "."));
+
+			final List<String> args = plugin.map(p -> scalacArgs(p)).getOrElse(Collections.emptyList());
+
+			final Optional<String> target = Optional
+					.lift(args.stream().filter(a -> a.startsWith("-target:")).findFirst())
+					.map(a -> a.substring("-target:".length()))
+					.orElse(projectConfig.getJavaVersion().map(v -> "jvm-" + v));
+
+			final List<String> additionalParams = flatten(Arrays.asList(
+					scalaVersion.map(v -> "-Xsource:" + v),
+					filter(args, a -> !a.startsWith("-target:") && !a.startsWith("-Xsource:")),
+					map(plugin.map(p -> compilerPlugins(p, projectConfig, mavenProject))
+							.getOrElse(Collections.emptyList()),
+							jar -> "-Xplugin:" + jar)));
+
+			final PathRelativizer util = new PathRelativizer(mavenProject.getBasedir());
+
+			final List<String> settings = flatten(
+					Arrays.asList(
+							map(projectConfig.getSources(), s -> "//" + util.relativePath(s) + "=main"),
+							map(projectConfig.getResources(), s -> "//" + util.relativePath(s.getPath()) + "=main"),
+							map(projectConfig.getTestSources(), s -> "//" + util.relativePath(s) + "=tests"),
+							map(projectConfig.getTestResources(),
+									s -> "//" + util.relativePath(s.getPath()) + "=tests"),
+							Optional.some("P="),
+							additionalParams.isEmpty() ? Optional.none()
+									: Optional.some("scala.compiler.additionalParams="
+											+ Util.escapePrefValue(" " + mkString(additionalParams, " "))),
+							scalaVersion.map(v -> "scala.compiler.installation=" + v),
+							scalaVersion.map(v -> "scala.compiler.sourceLevel=" + v),
+							Optional.some("scala.compiler.useProjectSettings=true"),
+							Optional.some("stopBuildOnError=true"),
+							target.map(v -> "target=" + v),
+							Optional.some("useScopesCompiler=true"),
+							Optional.none()));
+			final SettingsFile settingsFile = new SettingsFile("org.scala-ide.sdt.core.prefs", settings);
+
+			log.debug("Adding scala nature and builder, disabling java nature and builder");
+			projectConfig
+					.prependNature(new Nature(ORG_SCALA_IDE_SDT_CORE_SCALANATURE, "Auto-detected from pom"))
+					.prependBuilder(new Builder(ORG_SCALA_IDE_SDT_CORE_SCALABUILDER, "Auto-detected from pom"))
+					.addClasspathContainer(ORG_SCALA_IDE_SDT_LAUNCHING_SCALA_COMPILER_CONTAINER)
+					.addDisabledBuilder(JavaProjectAnalyzer.ORG_ECLIPSE_JDT_CORE_JAVABUILDER)
+					.addSettingsFile(settingsFile);
+
+		}
+	}
+
+	/**
+	 * The configured Scala version of scala-maven-plugin, sbt-compiler-plugin
+	 * (<code>scalaVersion</code>) or scalor (version of the
+	 * <code>scala-compiler</code> in <code>defineCompiler</code>).
+	 */
+	protected Optional<String> scalaVersion(final PluginConfiguration plugin) {
+		return plugin.getValue("scalaVersion")
+				.orElse(plugin.getValue("scalaCompatVersion"))
+				.orElse(Optional.lift(dependencies(plugin, "defineCompiler").stream()
+						.filter(d -> "scala-compiler".equals(child(d, "artifactId").orNull()))
+						.findFirst())
+						.flatMap(d -> child(d, "version")));
+	}
+
+	/**
+	 * The configured compiler arguments of scala-maven-plugin
+	 * (<code>args</code>, <code>addScalacArgs</code>), sbt-compiler-plugin
+	 * (<code>scalacOptions</code>) or scalor (<code>zincOptionsScala</code>).
+	 */
+	protected List<String> scalacArgs(final PluginConfiguration plugin) {
+		return flatten(Arrays.asList(
+				plugin.getValues("args"),
+				flatten(map(plugin.getValue("addScalacArgs"), a -> Arrays.asList(a.split("[|]")))),
+				flatten(map(plugin.getValue("scalacOptions"), a -> Arrays.asList(a.split("\\s+")))),
+				flatten(map(plugin.getValue("zincOptionsScala"), a -> Arrays.asList(a.split("\\s+"))))));
+	}
 
+	/**
+	 * The jar files of the configured compiler plugins of scala-maven-plugin
+	 * (<code>compilerPlugins</code>) or scalor (<code>definePlugin</code>),
+	 * resolved from the repositories of the project. Plugins, which could not
+	 * be resolved, are skipped and mark the project config as incomplete.
+	 */
+	protected List<String> compilerPlugins(final PluginConfiguration plugin, final ProjectConfig.Mutable projectConfig,
+			final MavenProject mavenProject) {
+		final List<Xpp3Dom> compilerPlugins = new ArrayList<>();
+		for (final Xpp3Dom child : plugin.getChild("compilerPlugins")) {
+			compilerPlugins.addAll(Arrays.asList(child.getChildren()));
+		}
+		compilerPlugins.addAll(dependencies(plugin, "definePlugin"));
+
+		if (compilerPlugins.isEmpty() || repositorySystem == null || repositorySession == null) {
+			return Collections.emptyList();
+		}
+
+		final List<String> jars = new ArrayList<>();
+		for (final Xpp3Dom compilerPlugin : compilerPlugins) {
+			final Optional<String> groupId = child(compilerPlugin, "groupId");
+			final Optional<String> artifactId = child(compilerPlugin, "artifactId");
+			final Optional<String> version = child(compilerPlugin, "version");
+			if (groupId.isDefined() && artifactId.isDefined() && version.isDefined()) {
+				final ArtifactRequest request = new ArtifactRequest(
+						new DefaultArtifact(groupId.get(), artifactId.get(), "jar", version.get()),
+						mavenProject.getRemoteProjectRepositories(), null);
+				try {
+					jars.add(repositorySystem.resolveArtifact(repositorySession, request).getArtifact().getFile()
+							.getAbsolutePath());
+				} catch (final ArtifactResolutionException e) {
+					log.warn("Could not resolve scala compiler plugin " + request.getArtifact() + " of project "
+							+ mavenProject.getId() + ": " + e.getMessage());
+					log.debug(e);
+					projectConfig.addIncompleteReason(
+							"scala compiler plugin could not be resolved: " + request.getArtifact());
+				}
 			}
 		}
+		return jars;
+	}
+
+	private List<Xpp3Dom> dependencies(final PluginConfiguration plugin, final String name) {
+		final List<Xpp3Dom> dependencies = new ArrayList<>();
+		for (final Xpp3Dom child : plugin.getChild(name)) {
+			dependencies.addAll(Arrays.asList(child.getChildren("dependency")));
+		}
+		return dependencies;
+	}
 
-		return updated;
+	private static Optional<String> child(final Xpp3Dom element, final String name) {
+		return Optional.of(element.getChild(name)).flatMap(c -> PluginConfiguration.value(c));
 	}
 
 }
@@ -0,0 +1,112 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.DefaultDependencyResolutionRequest;
+import org.apache.maven.project.DependencyResolutionException;
+import org.apache.maven.project.DependencyResolutionRequest;
+import org.apache.maven.project.DependencyResolutionResult;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectDependenciesResolver;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+
+import de.tototec.utils.functional.Optional;
+
+/**
+ * Resolves the dependencies of the project and adds them as libraries to the
+ * classpath, so that Eclipse does not need to resolve them with m2e.
+ * <p>
+ * Dependencies to other projects of the reactor are not resolved, but added
+ * as classpath projects instead. If present in the local repository, the
+ * sources jar of a library is attached.
+ */
+public class StaticClasspathAnalyzer implements MavenProjectAnalyzer {
+
+	private final Log log;
+	private final MavenSession session;
+	private final ProjectDependenciesResolver resolver;
+
+	public StaticClasspathAnalyzer(final Log log, final MavenSession session,
+			final ProjectDependenciesResolver resolver) {
+		this.log = log;
+		this.session = session;
+		this.resolver = resolver;
+	}
+
+	@Override
+	public void analyze(final ProjectConfig.Mutable projectConfig, final MavenProject mavenProject) {
+		final Map<String, MavenProject> reactorProjects = new HashMap<>();
+		for (final MavenProject project : session.getProjects()) {
+			reactorProjects.put(project.getGroupId() + ":" + project.getArtifactId(), project);
+		}
+
+		final DependencyResolutionRequest request = new DefaultDependencyResolutionRequest(mavenProject,
+				session.getRepositorySession());
+		request.setResolutionFilter((node, parents) -> node.getDependency() == null
+				|| !reactorProjects.containsKey(key(node.getDependency().getArtifact())));
+
+		final DependencyResolutionResult result;
+		try {
+			result = resolver.resolve(request);
+		} catch (final DependencyResolutionException e) {
+			throw new RuntimeMojoException(new MojoExecutionException(
+					"Could not resolve dependencies of project: " + mavenProject.getId(), e));
+		}
+
+		// reactor projects anywhere in the dependency tree
+		final Set<ProjectReference> projects = new LinkedHashSet<>();
+		collectReactorProjects(result.getDependencyGraph(), reactorProjects, projects);
+		projectConfig.addClasspathProjects(projects);
+
+		final LocalRepositoryManager localRepo = session.getRepositorySession().getLocalRepositoryManager();
+		for (final Dependency dependency : result.getDependencies()) {
+			final Artifact artifact = dependency.getArtifact();
+			if (artifact.getFile() == null) {
+				log.debug("Skipping unresolved dependency: " + dependency);
+				continue;
+			}
+			final File sources = new File(localRepo.getRepository().getBasedir(),
+					localRepo.getPathForLocalArtifact(new DefaultArtifact(artifact.getGroupId(),
+							artifact.getArtifactId(), "sources", "jar", artifact.getVersion())));
+			projectConfig.addLibraries(Collections.singletonList(new Library(
+					artifact.getFile().getAbsolutePath(),
+					sources.isFile() ? Optional.some(sources.getAbsolutePath()) : Optional.none(),
+					"test".equals(dependency.getScope()),
+					Optional.some(key(artifact)))));
+		}
+	}
+
+	private void collectReactorProjects(final DependencyNode node, final Map<String, MavenProject> reactorProjects,
+			final Set<ProjectReference> projects) {
+		if (node == null) {
+			return;
+		}
+		for (final DependencyNode child : node.getChildren()) {
+			final Dependency dependency = child.getDependency();
+			final MavenProject project = dependency == null ? null
+					: reactorProjects.get(key(dependency.getArtifact()));
+			if (project != null) {
+				projects.add(new ProjectReference(MinimalPomAnalyzer.projectName(project),
+						"test".equals(dependency.getScope()), Optional.some(key(dependency.getArtifact()))));
+			}
+			collectReactorProjects(child, reactorProjects, projects);
+		}
+	}
+
+	private static String key(final Artifact artifact) {
+		return artifact.getGroupId() + ":" + artifact.getArtifactId();
+	}
+
+}
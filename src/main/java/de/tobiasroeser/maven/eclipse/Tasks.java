@@ -7,10 +7,12 @@ import static de.tototec.utils.functional.FList.map;
 import static de.tototec.utils.functional.FList.mkString;
 
 import java.io.File;
-import java.io.PrintStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 import org.apache.maven.plugin.logging.Log;
 
@@ -22,54 +24,89 @@ import de.tototec.utils.functional.Optional;
 public class Tasks {
 
 	private final File basedir;
+	private final PathRelativizer relativizer;
 	private final Optional<Log> log;
 
 	public Tasks(final File basedir, Optional<Log> log) {
 		this.basedir = basedir;
+		this.relativizer = new PathRelativizer(basedir);
 		this.log = log;
 	}
 
+	/**
+	 * The inputs read by {@link #generateProjectFile(StringBuilder, ProjectConfig)}.
+	 */
+	public GeneratorInputs projectFileInputs(final ProjectConfig projectConfig) {
+		return new GeneratorInputs()
+				.add("name", projectConfig.getName())
+				.add("comment", projectConfig.getComment())
+				.addAll("projectReferences", projectConfig.getProjectReferences())
+				.addAll("builders", map(projectConfig.getBuilders(), b -> b.getName()))
+				.addAll("disabledBuilders", projectConfig.getDisabledBuilders())
+				.addAll("natures", map(projectConfig.getNatures(), n -> n.getName()))
+				.addAll("disabledNatures", projectConfig.getDisabledNatures())
+				.addAll("resourceFilters", projectConfig.getResourceFilters());
+	}
+
 	public void generateProjectFile(
-			final PrintStream printStream,
+			final StringBuilder out,
 			final ProjectConfig projectConfig) {
-		printStream.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
-		printStream.println("<!-- Generated by eclipse-maven-plugin -->");
-		printStream.println("<projectDescription>");
-		printStream.println("\t<name>" + projectConfig.getName() + "</name>");
-		printStream.println("\t<comment>" + projectConfig.getComment() + "</comment>");
+		final XmlWriter xml = new XmlWriter(out);
+		xml.declaration();
+		xml.comment("Generated by eclipse-maven-plugin");
+		xml.startElement("projectDescription");
+		xml.element("name", projectConfig.getName());
+		xml.element("comment", projectConfig.getComment());
 
-		printStream.println("\t<projects>");
-		printStream.println("\t</projects>");
+		xml.startElement("projects");
+		foreach(projectConfig.getProjectReferences(), p -> xml.element("project", p));
+		xml.endElement();
 
-		printStream.println("\t<buildSpec>");
+		xml.startElement("buildSpec");
 		foreach(projectConfig.getBuilders(), b -> {
 			if (contains(projectConfig.getDisabledBuilders(), b.getName())) {
 				log.foreach(l -> l.debug("Builder [" + b.getName() + "] will be not added as it is disabled"));
 			} else {
-				printStream.println("\t\t<buildCommand>");
-				printStream.println("\t\t\t<name>" + b.getName() + "</name>");
-				printStream.println("\t\t\t<arguments>");
-				printStream.println("\t\t\t</arguments>");
-				printStream.println("\t\t</buildCommand>");
+				xml.startElement("buildCommand");
+				xml.element("name", b.getName());
+				xml.startElement("arguments").endElement();
+				xml.endElement();
 			}
 		});
-		printStream.println("\t</buildSpec>");
+		xml.endElement();
 
-		printStream.println("\t<natures>");
+		xml.startElement("natures");
 		foreach(projectConfig.getNatures(), n -> {
 			if (contains(projectConfig.getDisabledNatures(), n.getName())) {
 				log.foreach(l -> l.debug("Nature [" + n.getName() + "] will be not added as it is disabled"));
 			} else {
-				printStream.println("\t\t<nature>" + n.getName() + "</nature>");
+				xml.element("nature", n.getName());
 			}
 		});
-		printStream.println("\t</natures>");
+		xml.endElement();
 
-		printStream.println("</projectDescription>");
+		if (!projectConfig.getResourceFilters().isEmpty()) {
+			xml.startElement("filteredResources");
+			int id = 0;
+			for (final ResourceFilter filter : projectConfig.getResourceFilters()) {
+				xml.startElement("filter");
+				xml.element("id", String.valueOf(++id));
+				xml.element("name", filter.getPath());
+				xml.element("type", String.valueOf(filter.getType()));
+				xml.startElement("matcher");
+				xml.element("id", "org.eclipse.ui.ide.multiFilter");
+				xml.element("arguments", filter.getMatcherArguments());
+				xml.endElement();
+				xml.endElement();
+			}
+			xml.endElement();
+		}
+
+		xml.endElement();
 	}
 
 	public String relativePath(final String file) {
-		return Util.relativePath(basedir, file);
+		return relativizer.relativePath(file);
 	}
 
 	public Optional<String> whenUndefined(final Optional<?> predicate, final String useWhenDefined) {
@@ -79,61 +116,116 @@ public class Tasks {
 			return Optional.some(useWhenDefined);
 	}
 
-	public void generateClasspathFileContent(final PrintStream printStream, final ProjectConfig projectConfig,
+	/**
+	 * The inputs read by
+	 * {@link #generateClasspathFileContent(StringBuilder, ProjectConfig, Optional, String, String, boolean)}.
+	 */
+	public GeneratorInputs classpathFileInputs(final ProjectConfig projectConfig,
+			final Optional<String> buildOutput, final String outputDirectory, final String testOutputDirectory,
+			final boolean sourcesOptional) {
+		return new GeneratorInputs()
+				.add("basedir", basedir)
+				.addAll("sources", projectConfig.getSources())
+				.addAll("resources", projectConfig.getResources())
+				.addAll("testSources", projectConfig.getTestSources())
+				.addAll("testResources", projectConfig.getTestResources())
+				.addAll("largeResources", projectConfig.getLargeResources())
+				.addAll("optionalSources", projectConfig.getOptionalSources())
+				.addAll("ignoreOptionalProblems", projectConfig.getIgnoreOptionalProblems())
+				.addAll("classpathProjects", projectConfig.getClasspathProjects())
+				.addAll("libraries", projectConfig.getLibraries())
+				.addAll("dependencyAttributes", projectConfig.getDependencyAttributes().entrySet())
+				.addAll("classpathContainers", projectConfig.getClasspathContainers())
+				.addAll("classpathContainerAttributes", projectConfig.getClasspathContainerAttributes().entrySet())
+				.addAll("buildOutput", buildOutput)
+				.add("outputDirectory", outputDirectory)
+				.add("testOutputDirectory", testOutputDirectory)
+				.add("sourcesOptional", sourcesOptional);
+	}
+
+	public void generateClasspathFileContent(final StringBuilder out, final ProjectConfig projectConfig,
 			final Optional<String> buildOutput, final String outputDirectory, final String testOutputDirectory,
 			final boolean sourcesOptional) {
 
-		printStream.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
-		printStream.println("<!-- Generated by eclipse-maven-plugin -->");
-		printStream.println("<classpath>");
+		final XmlWriter xml = new XmlWriter(out);
+		xml.declaration();
+		xml.comment("Generated by eclipse-maven-plugin");
+		xml.startElement("classpath");
 
 		// src
 		foreach(projectConfig.getSources(),
-				s -> generateClasspathEntry(printStream, "src", s,
+				s -> generateClasspathEntry(xml, "src", s,
 						whenUndefined(buildOutput, outputDirectory),
-						sourcesOptional, false));
-		foreach(projectConfig.getResources(),
-				s -> generateClasspathEntry(printStream, "src", s.getPath(),
+						sourcesOptional || projectConfig.getOptionalSources().contains(s),
+						projectConfig.getIgnoreOptionalProblems().contains(s), false,
+						Collections.emptyList(), Collections.emptyList()));
+		foreach(projectConfig.getResources(), s -> {
+			if (projectConfig.getLargeResources().contains(s.getPath())) {
+				generateClasspathLibraryEntry(xml, new Library(relativePath(s.getPath()), Optional.none(), false),
+						Collections.emptyMap());
+			} else {
+				generateClasspathEntry(xml, "src", s.getPath(),
 						whenUndefined(buildOutput, outputDirectory),
-						sourcesOptional, false, s.getIncludes(), s.getExcludes()));
+						sourcesOptional, false, false, s.getIncludes(), s.getExcludes());
+			}
+		});
 		foreach(projectConfig.getTestSources(),
-				s -> generateClasspathEntry(printStream, "src", s,
+				s -> generateClasspathEntry(xml, "src", s,
 						whenUndefined(buildOutput, testOutputDirectory),
-						sourcesOptional, true));
-		foreach(projectConfig.getTestResources(),
-				s -> generateClasspathEntry(printStream, "src", s.getPath(),
+						sourcesOptional || projectConfig.getOptionalSources().contains(s),
+						projectConfig.getIgnoreOptionalProblems().contains(s), true,
+						Collections.emptyList(), Collections.emptyList()));
+		foreach(projectConfig.getTestResources(), s -> {
+			if (projectConfig.getLargeResources().contains(s.getPath())) {
+				generateClasspathLibraryEntry(xml, new Library(relativePath(s.getPath()), Optional.none(), true),
+						Collections.emptyMap());
+			} else {
+				generateClasspathEntry(xml, "src", s.getPath(),
 						whenUndefined(buildOutput, testOutputDirectory),
-						sourcesOptional, true, s.getIncludes(), s.getExcludes()));
+						sourcesOptional, false, true, s.getIncludes(), s.getExcludes());
+			}
+		});
+
+		// workspace projects
+		foreach(projectConfig.getClasspathProjects(),
+				p -> generateClasspathProjectEntry(xml, p, dependencyAttributes(projectConfig, p.getDependencyKey())));
+
+		// lib
+		foreach(projectConfig.getLibraries(),
+				l -> generateClasspathLibraryEntry(xml, l, dependencyAttributes(projectConfig, l.getDependencyKey())));
 
 		// con
-		foreach(projectConfig.getClasspathContainers(), cp -> {
-			generateClasspathEntry(printStream, "con", cp, Optional.none(), false, false);
-		});
+		foreach(projectConfig.getClasspathContainers(),
+				cp -> generateClasspathContainerEntry(xml, cp, Optional.of(
+						projectConfig.getClasspathContainerAttributes().get(cp)).getOrElse(Collections.emptyMap())));
 
 		// output
-		printStream.println("\t<classpathentry kind=\"output\" path=\""
-				+ buildOutput.getOrElse(relativePath(outputDirectory)) + "\"/>");
+		xml.startElement("classpathentry")
+				.attribute("kind", "output")
+				.attribute("path", buildOutput.getOrElse(relativePath(outputDirectory)))
+				.endElement();
 
-		printStream.println("</classpath>");
+		xml.endElement();
 	}
 
 	protected void generateClasspathEntry(
-			final PrintStream printStream,
+			final XmlWriter xml,
 			final String kind,
 			final String path,
 			final Optional<String> outputPath,
 			final boolean optional,
 			final boolean test) {
-		generateClasspathEntry(printStream, kind, path, outputPath, optional,
+		generateClasspathEntry(xml, kind, path, outputPath, optional, false,
 				test, Collections.emptyList(), Collections.emptyList());
 	}
 
 	protected void generateClasspathEntry(
-			final PrintStream printStream,
+			final XmlWriter xml,
 			final String kind,
 			final String path,
 			final Optional<String> outputPath,
 			final boolean optional,
+			final boolean ignoreOptionalProblems,
 			boolean test,
 			final List<String> includes, final List<String> excludes) {
 
@@ -144,61 +236,230 @@ public class Tasks {
 			normalizedPath = path;
 		}
 
-		printStream.print("\t<classpathentry kind=\"" + kind + "\" path=\"" + normalizedPath + "\"");
+		xml.startElement("classpathentry").attribute("kind", kind).attribute("path", normalizedPath);
 		if (!includes.isEmpty()) {
-			printStream.print(" including=\"");
-			printStream.print(mkString(includes, "|"));
-			printStream.print("\"");
+			xml.attribute("including", mkString(includes, "|"));
 		}
 		if (!excludes.isEmpty()) {
-			printStream.print(" excluding=\"");
-			printStream.print(mkString(excludes, "|"));
-			printStream.print("\"");
+			xml.attribute("excluding", mkString(excludes, "|"));
 		}
-		outputPath.foreach(p -> printStream.print(" output=\"" + relativePath(p) + "\""));
-		printStream.println(">");
-		printStream.println("\t\t<attributes>");
+		outputPath.foreach(p -> xml.attribute("output", relativePath(p)));
+		xml.startElement("attributes");
 		if (optional) {
-			printStream.println("\t\t\t<attribute name=\"optional\" value=\"true\"/>");
+			generateClasspathAttribute(xml, "optional", "true");
 		}
-		if(test) {
-		    printStream.println("\t\t\t<attribute name=\"test\" value=\"true\"/>");
+		if (ignoreOptionalProblems) {
+			generateClasspathAttribute(xml, "ignore_optional_problems", "true");
+		}
+		if (test) {
+			generateClasspathAttribute(xml, "test", "true");
+		}
+		generateClasspathAttribute(xml, "maven.pomderived", "true");
+		xml.endElement();
+		xml.endElement();
+	}
+
+	protected Map<String, String> dependencyAttributes(final ProjectConfig projectConfig,
+			final Optional<String> dependencyKey) {
+		return dependencyKey
+				.flatMap(k -> Optional.of(projectConfig.getDependencyAttributes().get(k)))
+				.getOrElse(Collections.emptyMap());
+	}
+
+	protected void generateClasspathProjectEntry(final XmlWriter xml, final ProjectReference project,
+			final Map<String, String> attributes) {
+		xml.startElement("classpathentry")
+				.attribute("combineaccessrules", "false")
+				.attribute("kind", "src")
+				.attribute("path", "/" + project.getName());
+		xml.startElement("attributes");
+		if (project.isTest()) {
+			generateClasspathAttribute(xml, "test", "true");
+		}
+		attributes.forEach((name, value) -> generateClasspathAttribute(xml, name, value));
+		generateClasspathAttribute(xml, "maven.pomderived", "true");
+		xml.endElement();
+		xml.endElement();
+	}
+
+	protected void generateClasspathLibraryEntry(final XmlWriter xml, final Library library,
+			final Map<String, String> attributes) {
+		xml.startElement("classpathentry")
+				.attribute("kind", "lib")
+				.attribute("path", library.getPath());
+		library.getSourcePath().foreach(p -> xml.attribute("sourcepath", p));
+		xml.startElement("attributes");
+		if (library.isTest()) {
+			generateClasspathAttribute(xml, "test", "true");
 		}
-		printStream.println("\t\t\t<attribute name=\"maven.pomderived\" value=\"true\"/>");
-		printStream.println("\t\t</attributes>");
-		printStream.println("\t</classpathentry>");
-	}
-
-	public void generateSettingOrgEclipseJdtCorePrefs(final PrintStream printStream,
-			final Optional<String> javaVersion) {
-		printStream.println("eclipse.preferences.version=1");
-		javaVersion.foreach(v -> {
-			printStream.println("org.eclipse.jdt.core.compiler.codegen.targetPlatform=" + v);
-			printStream.println("org.eclipse.jdt.core.compiler.compliance=" + v);
-			printStream.println("org.eclipse.jdt.core.compiler.source=" + v);
+		attributes.forEach((name, value) -> generateClasspathAttribute(xml, name, value));
+		generateClasspathAttribute(xml, "maven.pomderived", "true");
+		xml.endElement();
+		xml.endElement();
+	}
+
+	protected void generateClasspathContainerEntry(final XmlWriter xml, final String path,
+			final Map<String, String> attributes) {
+		xml.startElement("classpathentry")
+				.attribute("kind", "con")
+				.attribute("path", path);
+		xml.startElement("attributes");
+		attributes.forEach((name, value) -> generateClasspathAttribute(xml, name, value));
+		generateClasspathAttribute(xml, "maven.pomderived", "true");
+		xml.endElement();
+		xml.endElement();
+	}
+
+	protected void generateClasspathAttribute(final XmlWriter xml, final String name, final String value) {
+		xml.startElement("attribute").attribute("name", name).attribute("value", value).endElement();
+	}
+
+	/**
+	 * The inputs read by
+	 * {@link #generateSettingOrgEclipseJdtCorePrefs(StringBuilder, ProjectConfig)}.
+	 */
+	public GeneratorInputs settingOrgEclipseJdtCorePrefsInputs(final ProjectConfig projectConfig) {
+		return new GeneratorInputs()
+				.addAll("javaVersion", projectConfig.getJavaVersion())
+				.addAll("jdtSettings", projectConfig.getJdtSettings().entrySet());
+	}
+
+	/**
+	 * Writes the Java version and the additional JDT settings of the project,
+	 * sorted by key. Additional settings override the ones derived from the
+	 * Java version.
+	 */
+	public void generateSettingOrgEclipseJdtCorePrefs(final StringBuilder out,
+			final ProjectConfig projectConfig) {
+		final Map<String, String> settings = new TreeMap<>();
+		projectConfig.getJavaVersion().foreach(v -> {
+			settings.put("org.eclipse.jdt.core.compiler.codegen.targetPlatform", v);
+			settings.put("org.eclipse.jdt.core.compiler.compliance", v);
+			settings.put("org.eclipse.jdt.core.compiler.source", v);
+		});
+		settings.putAll(projectConfig.getJdtSettings());
+		line(out, "eclipse.preferences.version=1");
+		settings.forEach((k, v) -> line(out, k, "=", v));
+	}
+
+	/**
+	 * The inputs read by {@link #generateFactoryPath(StringBuilder, ProjectConfig)}.
+	 */
+	public GeneratorInputs factoryPathInputs(final ProjectConfig projectConfig) {
+		return new GeneratorInputs().addAll("factoryPath", projectConfig.getFactoryPath());
+	}
+
+	public void generateFactoryPath(final StringBuilder out, final ProjectConfig projectConfig) {
+		final XmlWriter xml = new XmlWriter(out);
+		xml.declaration();
+		xml.comment("Generated by eclipse-maven-plugin");
+		xml.startElement("factorypath");
+		foreach(projectConfig.getFactoryPath(), jar -> {
+			xml.startElement("factorypathentry")
+					.attribute("kind", "EXTJAR")
+					.attribute("id", jar)
+					.attribute("enabled", "true")
+					.attribute("runInBatchMode", "false")
+					.endElement();
 		});
+		xml.endElement();
+	}
+
+	/**
+	 * The inputs read by
+	 * {@link #generateSettingOrgEclipseM2eCorePrefs(StringBuilder, List)}.
+	 */
+	public GeneratorInputs settingOrgEclipseM2eCorePrefsInputs(final List<String> activeProfiles) {
+		return new GeneratorInputs().addAll("activeProfiles", activeProfiles);
 	}
 
-	public void generateSettingOrgEclipseM2eCorePrefs(final PrintStream printStream,
+	public void generateSettingOrgEclipseM2eCorePrefs(final StringBuilder out,
 			final List<String> activeProfiles) {
-		printStream.println("activeProfiles=" + mkString(activeProfiles, ","));
-		printStream.println("eclipse.preferences.version=1");
-		printStream.println("resolveWorkspaceProjects=true");
-		printStream.println("version=1");
+		line(out, "activeProfiles=", mkString(activeProfiles, ","));
+		line(out, "eclipse.preferences.version=1");
+		line(out, "resolveWorkspaceProjects=true");
+		line(out, "version=1");
 	}
 
-	public void generateSettingOrgEclipseCoreResourcesPrefs(final PrintStream printStream,
+	/**
+	 * The inputs read by
+	 * {@link #generateSettingOrgEclipseCoreResourcesPrefs(StringBuilder, ProjectConfig)}.
+	 */
+	public GeneratorInputs settingOrgEclipseCoreResourcesPrefsInputs(final ProjectConfig projectConfig) {
+		return new GeneratorInputs()
+				.add("basedir", basedir)
+				.addAll("encoding", projectConfig.getEncoding())
+				.addAll("sources", projectConfig.getSources())
+				.addAll("resources", map(projectConfig.getResources(), r -> r.getPath()))
+				.addAll("testSources", projectConfig.getTestSources())
+				.addAll("testResources", map(projectConfig.getTestResources(), r -> r.getPath()));
+	}
+
+	public void generateSettingOrgEclipseCoreResourcesPrefs(final StringBuilder out,
 			final ProjectConfig projectConfig) {
-		printStream.println("eclipse.preferences.version=1");
+		line(out, "eclipse.preferences.version=1");
 		projectConfig.getEncoding().foreach(encoding -> {
 			foreach(flatten(Arrays.asList(
 					projectConfig.getSources(),
 					map(projectConfig.getResources(), r -> r.getPath()),
 					projectConfig.getTestSources(),
 					map(projectConfig.getTestResources(), r -> r.getPath()))),
-					path -> printStream.println("encoding//" + relativePath(path) + "=" + encoding));
-			printStream.println("encoding/<project>=" + encoding);
+					path -> out.append("encoding//").append(relativePath(path)).append('=').append(encoding)
+							.append(Util.LINE_SEPARATOR));
+			line(out, "encoding/<project>=", encoding);
 		});
 	}
 
+	/**
+	 * The inputs read by
+	 * {@link #generateLifecycleMappingMetadata(StringBuilder, Map)}.
+	 */
+	public GeneratorInputs lifecycleMappingMetadataInputs(final Map<String, Set<String>> ignoredExecutions) {
+		return new GeneratorInputs().addAll("ignoredExecutions", ignoredExecutions.entrySet());
+	}
+
+	/**
+	 * Writes m2e lifecycle mapping metadata, which ignores the given plugin
+	 * executions.
+	 *
+	 * @param ignoredExecutions
+	 *            The goals to ignore, keyed by <code>groupId:artifactId</code>.
+	 */
+	public void generateLifecycleMappingMetadata(final StringBuilder out,
+			final Map<String, Set<String>> ignoredExecutions) {
+		final XmlWriter xml = new XmlWriter(out);
+		xml.declaration();
+		xml.comment("Generated by eclipse-maven-plugin");
+		xml.startElement("lifecycleMappingMetadata");
+		xml.startElement("pluginExecutions");
+		ignoredExecutions.forEach((key, goals) -> {
+			final String[] parts = key.split(":", 2);
+			xml.startElement("pluginExecution");
+			xml.startElement("pluginExecutionFilter");
+			xml.element("groupId", parts[0]);
+			xml.element("artifactId", parts[1]);
+			xml.element("versionRange", "[0,)");
+			xml.startElement("goals");
+			foreach(goals, g -> xml.element("goal", g));
+			xml.endElement();
+			xml.endElement();
+			xml.startElement("action");
+			xml.startElement("ignore").endElement();
+			xml.endElement();
+			xml.endElement();
+		});
+		xml.endElement();
+		xml.endElement();
+	}
+
+	/**
+	 * Appends the given parts as one line.
+	 */
+	public static void line(final StringBuilder out, final String... parts) {
+		for (final String part : parts) {
+			out.append(part);
+		}
+		out.append(Util.LINE_SEPARATOR);
+	}
+
 }
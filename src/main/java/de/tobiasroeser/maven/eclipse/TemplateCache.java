@@ -0,0 +1,120 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide cache of the lines of settings template files.
+ * <p>
+ * In multi-module builds, typically all modules share the same templates. The
+ * cache is shared by all mojo executions (and threads), so each template is
+ * read only once per build. An entry is keyed by the canonical path of the
+ * file and is only reused, as long as the modification time and size of the
+ * file are unchanged.
+ * <p>
+ * Instances are thread-safe.
+ */
+public class TemplateCache {
+
+	private static final TemplateCache INSTANCE = new TemplateCache();
+
+	private final ConcurrentMap<String, Template> templates = new ConcurrentHashMap<>();
+
+	public static TemplateCache getInstance() {
+		return INSTANCE;
+	}
+
+	private static class Template {
+
+		private final long lastModified;
+		private final long size;
+		private final List<String> lines;
+
+		public Template(final long lastModified, final long size, final List<String> lines) {
+			this.lastModified = lastModified;
+			this.size = size;
+			this.lines = lines;
+		}
+
+		public boolean isCurrent(final File file) {
+			return file.lastModified() == lastModified && file.length() == size;
+		}
+
+	}
+
+	/**
+	 * Returns the lines of the given template file.
+	 */
+	public List<String> load(final File file) throws IOException {
+		return load(Collections.singletonList(file)).get(file);
+	}
+
+	/**
+	 * Returns the lines of all given template files, in the order of the
+	 * given files. All files not already cached are read in parallel.
+	 *
+	 * @throws IOException
+	 *             if at least one file could not be read.
+	 */
+	public Map<File, List<String>> load(final Collection<File> files) throws IOException {
+		final Map<File, List<String>> result = new LinkedHashMap<>();
+		final List<File> missing = new ArrayList<>();
+		for (final File file : files) {
+			final Template template = templates.get(key(file));
+			if (template != null && template.isCurrent(file)) {
+				result.put(file, template.lines);
+			} else {
+				result.put(file, null);
+				missing.add(file);
+			}
+		}
+
+		if (!missing.isEmpty()) {
+			try {
+				(missing.size() == 1 ? missing.stream() : missing.parallelStream()).forEach(file -> {
+					try {
+						final Template template = read(file);
+						templates.put(key(file), template);
+						synchronized (result) {
+							result.put(file, template.lines);
+						}
+					} catch (final IOException e) {
+						throw new UncheckedIOException(file.getPath(), e);
+					}
+				});
+			} catch (final UncheckedIOException e) {
+				throw new IOException("Could not read template file: " + e.getMessage(), e.getCause());
+			}
+		}
+
+		return result;
+	}
+
+	private Template read(final File file) throws IOException {
+		// read the metadata first, so a concurrent change results in a stale
+		// entry, which gets replaced next time
+		final long lastModified = file.lastModified();
+		final long size = file.length();
+		final List<String> lines = Collections.unmodifiableList(Files.readAllLines(file.toPath()));
+		return new Template(lastModified, size, lines);
+	}
+
+	private String key(final File file) {
+		try {
+			return file.getCanonicalPath();
+		} catch (final IOException e) {
+			return file.getAbsolutePath();
+		}
+	}
+
+}
@@ -1,12 +1,23 @@
 package de.tobiasroeser.maven.eclipse;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 
 import org.apache.maven.project.MavenProject;
 
 public abstract class Util {
 
+	public static final String LINE_SEPARATOR = System.lineSeparator();
+
 	public static String relativePath(MavenProject mavenProject, final String file) {
 		return relativePath(mavenProject.getBasedir(), file);
 	}
@@ -26,4 +37,112 @@ public abstract class Util {
 		}
 	}
 
+	/**
+	 * Check, if the given file exists and has exactly the given content. The
+	 * file size is checked first, so that in most cases of changed content the
+	 * file don't need to be read at all.
+	 */
+	public static boolean hasContent(final File file, final byte[] content) throws IOException {
+		if (!file.isFile() || file.length() != content.length) {
+			return false;
+		}
+		return Arrays.equals(digest(file), sha256().digest(content));
+	}
+
+	/**
+	 * @return The hex encoded SHA-256 hash of the given content.
+	 */
+	public static String sha256Hex(final byte[] content) {
+		return hex(sha256().digest(content));
+	}
+
+	/**
+	 * @return The hex encoded SHA-256 hash of the content of the given file.
+	 */
+	public static String sha256Hex(final File file) throws IOException {
+		return hex(digest(file));
+	}
+
+	public static String hex(final byte[] bytes) {
+		final StringBuilder hex = new StringBuilder(bytes.length * 2);
+		for (final byte b : bytes) {
+			hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+		return hex.toString();
+	}
+
+	private static byte[] digest(final File file) throws IOException {
+		final MessageDigest digest = sha256();
+		try (final InputStream in = Files.newInputStream(file.toPath())) {
+			final byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * Write the content to the given file. The content is first written to a
+	 * temporary file in the same directory, which is then moved over the
+	 * target file, so that readers never see a partially written file.
+	 */
+	public static void writeAtomically(final File file, final byte[] content) throws IOException {
+		final Path target = file.toPath();
+		final Path tmp = target.resolveSibling("." + file.getName() + ".tmp");
+		Files.write(tmp, content);
+		try {
+			moveAtomically(tmp, target);
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	/**
+	 * Replaces the target file with the source file, atomically, if supported
+	 * by the file system.
+	 */
+	public static void moveAtomically(final Path source, final Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (final AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	public static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not supported by this JVM", e);
+		}
+	}
+
+	/**
+	 * Escapes a value of a preferences file the same way
+	 * {@link java.util.Properties} does.
+	 */
+	public static String escapePrefValue(final String value) {
+		final StringBuilder escaped = new StringBuilder(value.length() + 8);
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			switch (c) {
+			case ' ':
+				escaped.append(i == 0 ? "\\ " : " ");
+				break;
+			case '\\':
+			case ':':
+			case '=':
+			case '#':
+			case '!':
+				escaped.append('\\').append(c);
+				break;
+			default:
+				escaped.append(c);
+			}
+		}
+		return escaped.toString();
+	}
+
 }
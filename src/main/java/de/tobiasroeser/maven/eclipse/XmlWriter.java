@@ -0,0 +1,136 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A minimal streaming XML emitter, which appends indented XML directly to a
+ * {@link StringBuilder}. Text and attribute values are escaped.
+ * <p>
+ * Elements with attributes but without children are written as self-closing
+ * tags, e.g. <code>&lt;attribute name="test" value="true"/&gt;</code>.
+ * Elements without attributes are always written with start and end tag,
+ * which is the format Eclipse itself uses for its project files.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class XmlWriter {
+
+	private final StringBuilder out;
+	private final Deque<String> openElements = new ArrayDeque<>();
+	private boolean startTagOpen = false;
+	private boolean hasAttributes = false;
+
+	public XmlWriter(final StringBuilder out) {
+		this.out = out;
+	}
+
+	public XmlWriter declaration() {
+		out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>").append(Util.LINE_SEPARATOR);
+		return this;
+	}
+
+	public XmlWriter comment(final String comment) {
+		closeStartTag();
+		indent();
+		out.append("<!-- ").append(comment).append(" -->").append(Util.LINE_SEPARATOR);
+		return this;
+	}
+
+	public XmlWriter startElement(final String name) {
+		closeStartTag();
+		indent();
+		out.append('<').append(name);
+		openElements.push(name);
+		startTagOpen = true;
+		hasAttributes = false;
+		return this;
+	}
+
+	/**
+	 * Adds an attribute to the element started last. Must be called before
+	 * any child content of that element.
+	 */
+	public XmlWriter attribute(final String name, final String value) {
+		if (!startTagOpen) {
+			throw new IllegalStateException("Cannot add attribute [" + name + "] outside of a start tag");
+		}
+		out.append(' ').append(name).append("=\"");
+		escape(value, true);
+		out.append('"');
+		hasAttributes = true;
+		return this;
+	}
+
+	public XmlWriter endElement() {
+		final String name = openElements.pop();
+		if (startTagOpen && hasAttributes) {
+			out.append("/>").append(Util.LINE_SEPARATOR);
+			startTagOpen = false;
+		} else {
+			closeStartTag();
+			indent();
+			out.append("</").append(name).append('>').append(Util.LINE_SEPARATOR);
+		}
+		return this;
+	}
+
+	/**
+	 * Writes a complete element with text content, e.g.
+	 * <code>&lt;name&gt;text&lt;/name&gt;</code>.
+	 */
+	public XmlWriter element(final String name, final String text) {
+		closeStartTag();
+		indent();
+		out.append('<').append(name).append('>');
+		escape(text, false);
+		out.append("</").append(name).append('>').append(Util.LINE_SEPARATOR);
+		return this;
+	}
+
+	private void closeStartTag() {
+		if (startTagOpen) {
+			out.append('>').append(Util.LINE_SEPARATOR);
+			startTagOpen = false;
+		}
+	}
+
+	private void indent() {
+		for (int i = 0; i < openElements.size(); i++) {
+			out.append('\t');
+		}
+	}
+
+	private void escape(final String value, final boolean attribute) {
+		if (value == null) {
+			return;
+		}
+		final int length = value.length();
+		int start = 0;
+		for (int i = 0; i < length; i++) {
+			final String replacement;
+			switch (value.charAt(i)) {
+			case '&':
+				replacement = "&amp;";
+				break;
+			case '<':
+				replacement = "&lt;";
+				break;
+			case '>':
+				replacement = "&gt;";
+				break;
+			case '"':
+				replacement = attribute ? "&quot;" : null;
+				break;
+			default:
+				replacement = null;
+			}
+			if (replacement != null) {
+				out.append(value, start, i).append(replacement);
+				start = i + 1;
+			}
+		}
+		out.append(value, start, length);
+	}
+
+}
@@ -0,0 +1,42 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+import static de.tototec.utils.functional.FList.map;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class AnalyzerProvidersTest extends FreeSpec {
+
+	public AnalyzerProvidersTest() {
+		setExpectFailFast(false);
+
+		section("AnalyzerProviders should", () -> {
+			test("discover the built-in providers in order", () -> {
+				expectEquals(map(AnalyzerProviders.getProviders(), p -> p.getClass()),
+						Arrays.asList(ScalaAnalyzerProvider.class, AspectjAnalyzerProvider.class));
+			});
+			test("select no analyzer for a project without matching plugins", () -> {
+				expectEquals(AnalyzerProviders.analyzers(new MavenProject(), new SystemStreamLog(), true, null, null).size(),
+						0);
+			});
+			test("select the analyzer triggered by a plugin", () -> {
+				final MavenProject project = new MavenProject();
+				project.setPluginArtifacts(Collections.singleton(new DefaultArtifact("org.codehaus.mojo",
+						"aspectj-maven-plugin", "1.8", null, "maven-plugin", null,
+						new DefaultArtifactHandler("maven-plugin"))));
+				expectEquals(map(AnalyzerProviders.analyzers(project, new SystemStreamLog(), true, null, null),
+						a -> a.getClass()),
+						Arrays.asList(AspectjProjectAnalyzer.class));
+			});
+		});
+	}
+
+}
@@ -0,0 +1,50 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+import de.tototec.utils.functional.FList;
+
+public class AnnotationProcessingAnalyzerTest extends FreeSpec {
+
+	public AnnotationProcessingAnalyzerTest() {
+		setExpectFailFast(false);
+
+		final AnnotationProcessingAnalyzer analyzer = new AnnotationProcessingAnalyzer(new SystemStreamLog(), null,
+				null, false);
+
+		section("AnnotationProcessingAnalyzer should", () -> {
+			test("read processor options from compiler arguments", () -> {
+				final Plugin plugin = new Plugin();
+				plugin.setConfiguration(Xpp3DomBuilder.build(new StringReader("<configuration>"
+						+ "<compilerArgs><arg>-parameters</arg><arg>-Amapstruct.defaultComponentModel=spring</arg>"
+						+ "</compilerArgs><compilerArgument>-Alombok.debug</compilerArgument></configuration>")));
+				final Map<String, String> expected = new LinkedHashMap<>();
+				expected.put("lombok.debug", "");
+				expected.put("mapstruct.defaultComponentModel", "spring");
+				expectEquals(analyzer.processorOptions(new PluginConfiguration(plugin)), expected);
+			});
+			test("read the processor paths", () -> {
+				final Plugin plugin = new Plugin();
+				plugin.setConfiguration(Xpp3DomBuilder.build(new StringReader("<configuration>"
+						+ "<annotationProcessorPaths><path><groupId>org.projectlombok</groupId>"
+						+ "<artifactId>lombok</artifactId><version>1.18.30</version></path>"
+						+ "<path><groupId>incomplete</groupId></path></annotationProcessorPaths></configuration>")));
+				expectEquals(
+						FList.map(analyzer.processorPaths(new PluginConfiguration(plugin)),
+								d -> d.getArtifact().toString()),
+						Arrays.asList("org.projectlombok:lombok:jar:1.18.30"));
+			});
+		});
+	}
+
+}
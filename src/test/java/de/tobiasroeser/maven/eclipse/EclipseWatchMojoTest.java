@@ -0,0 +1,100 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+import static de.tobiasroeser.maven.eclipse.TempDir.withTempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class EclipseWatchMojoTest extends FreeSpec {
+
+	public EclipseWatchMojoTest() {
+		setExpectFailFast(false);
+
+		section("EclipseWatchMojo should", () -> {
+			test("collect the normalized template directory and files", () -> {
+				expectEquals(EclipseWatchMojo.templates(new File("/tmp/project/settings/../templates"),
+						Arrays.asList(new File("/tmp/project/a.prefs"), new File("/tmp/project/./a.prefs"))),
+						set(Paths.get("/tmp/project/templates"), Paths.get("/tmp/project/a.prefs")));
+				expectEquals(EclipseWatchMojo.templates(null, Collections.emptyList()), Collections.emptySet());
+			});
+			test("watch the template directory itself and the directories of poms and templates", () -> {
+				withTempDir("EclipseWatchMojoTest", dir -> {
+					final File templates = new File(dir, "templates");
+					final File module = new File(dir, "module");
+					templates.mkdirs();
+					module.mkdirs();
+					expectEquals(EclipseWatchMojo.watchedDirectories(
+							set(new File(dir, "pom.xml").toPath(), new File(module, "pom.xml").toPath()),
+							set(templates.toPath(), new File(dir, "a.prefs").toPath(),
+									new File(dir, "missing/b.prefs").toPath())),
+							set(dir.toPath(), module.toPath(), templates.toPath()));
+				});
+			});
+			test("find changed files, which are watched or in watched directories", () -> {
+				expectEquals(EclipseWatchMojo.intersection(
+						set(Paths.get("/tmp/project/pom.xml"), Paths.get("/tmp/project/templates/a.prefs"),
+								Paths.get("/tmp/project/README.adoc")),
+						set(Paths.get("/tmp/project/pom.xml"), Paths.get("/tmp/project/templates"))),
+						set(Paths.get("/tmp/project/pom.xml"), Paths.get("/tmp/project/templates/a.prefs")));
+			});
+			test("find the projects of changed poms and their child projects", () -> {
+				final MavenProject parent = project("/tmp/project/pom.xml", null);
+				final MavenProject child = project("/tmp/project/child/pom.xml", parent);
+				final MavenProject other = project("/tmp/project/other/pom.xml", null);
+				final Map<Path, MavenProject> projects = new LinkedHashMap<>();
+				for (final MavenProject project : Arrays.asList(parent, child, other)) {
+					projects.put(project.getFile().toPath(), project);
+				}
+				expectEquals(EclipseWatchMojo.affected(projects, set(Paths.get("/tmp/project/pom.xml"))),
+						Arrays.asList(parent, child));
+				expectEquals(EclipseWatchMojo.affected(projects, set(Paths.get("/tmp/project/other/pom.xml"))),
+						Arrays.asList(other));
+			});
+			test("find the poms of added modules", () -> {
+				withTempDir("EclipseWatchMojoTest", dir -> {
+					for (final String pom : Arrays.asList("pom.xml", "known/pom.xml", "added/pom.xml",
+							"nested/custom/module.xml")) {
+						final File file = new File(dir, pom);
+						file.getParentFile().mkdirs();
+						file.createNewFile();
+					}
+					final MavenProject parent = project(new File(dir, "pom.xml").getPath(), null);
+					parent.getModules().addAll(Arrays.asList("known", "added", "nested/custom/module.xml", "missing"));
+					final MavenProject known = project(new File(dir, "known/pom.xml").getPath(), parent);
+					final Map<Path, MavenProject> projects = new LinkedHashMap<>();
+					for (final MavenProject project : Arrays.asList(parent, known)) {
+						projects.put(project.getFile().toPath(), project);
+					}
+					expectEquals(EclipseWatchMojo.addedModules(projects, Arrays.asList(parent)),
+							set(new File(dir, "added/pom.xml").toPath(),
+									new File(dir, "nested/custom/module.xml").toPath()));
+				});
+			});
+		});
+	}
+
+	private static MavenProject project(final String pom, final MavenProject parent) {
+		final MavenProject project = new MavenProject(new Model());
+		project.setFile(new File(pom));
+		project.setParent(parent);
+		return project;
+	}
+
+	private static Set<Path> set(final Path... paths) {
+		return new LinkedHashSet<>(Arrays.asList(paths));
+	}
+
+}
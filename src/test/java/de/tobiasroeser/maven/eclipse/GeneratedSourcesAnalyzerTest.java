@@ -0,0 +1,67 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+import static de.tobiasroeser.maven.eclipse.TempDir.withTempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class GeneratedSourcesAnalyzerTest extends FreeSpec {
+
+	public GeneratedSourcesAnalyzerTest() {
+		setExpectFailFast(false);
+
+		final GeneratedSourcesAnalyzer analyzer = new GeneratedSourcesAnalyzer(new SystemStreamLog());
+
+		section("discover should", () -> {
+			test("Find nothing in a missing directory", () -> {
+				withTempDir("GeneratedSourcesAnalyzerTest", tmp -> {
+					final Path dir = tmp.toPath();
+					expectEquals(analyzer.discover(dir.resolve("generated-sources")), Collections.emptyList());
+				});
+			});
+			test("Use each sub directory as source root", () -> {
+				withTempDir("GeneratedSourcesAnalyzerTest", tmp -> {
+					final Path dir = tmp.toPath();
+					Files.createDirectories(dir.resolve("jaxb/com/example"));
+					Files.createDirectories(dir.resolve("annotations/java"));
+					Files.createFile(dir.resolve("annotations/Foo.java"));
+					expectEquals(analyzer.discover(dir), Arrays.asList(
+							dir.resolve("annotations").toString(),
+							dir.resolve("jaxb").toString()));
+				});
+			});
+			test("Use language directories as source roots", () -> {
+				withTempDir("GeneratedSourcesAnalyzerTest", tmp -> {
+					final Path dir = tmp.toPath();
+					Files.createDirectories(dir.resolve("protobuf/java"));
+					Files.createDirectories(dir.resolve("protobuf/grpc-java"));
+					expectEquals(analyzer.discover(dir), Arrays.asList(
+							dir.resolve("protobuf/grpc-java").toString(),
+							dir.resolve("protobuf/java").toString()));
+				});
+			});
+			test("Keep the sorted order of many source roots", () -> {
+				withTempDir("GeneratedSourcesAnalyzerTest", tmp -> {
+					final Path dir = tmp.toPath();
+					final List<String> expected = new ArrayList<>();
+					for (int i = 0; i < 100; i++) {
+						final Path root = dir.resolve(String.format("gen%03d", i));
+						Files.createDirectories(root);
+						expected.add(root.toString());
+					}
+					expectEquals(analyzer.discover(dir), expected);
+				});
+			});
+		});
+	}
+
+}
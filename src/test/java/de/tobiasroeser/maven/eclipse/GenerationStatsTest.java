@@ -0,0 +1,49 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+import static de.tobiasroeser.lambdatest.Expect.expectTrue;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class GenerationStatsTest extends FreeSpec {
+
+	public GenerationStatsTest() {
+		setExpectFailFast(false);
+
+		section("add should", () -> {
+			test("Sum up the counters and phases", () -> {
+				final GenerationStats a = new GenerationStats();
+				a.written();
+				a.record("generate .project", 1000000);
+				final GenerationStats b = new GenerationStats();
+				b.unchanged();
+				b.record("generate .project", 2000000);
+				b.record("generate .classpath", 500000);
+
+				final GenerationStats sum = new GenerationStats();
+				sum.add(a);
+				sum.add(b);
+				expectEquals(sum.getWrittenFiles(), 1);
+				expectEquals(sum.getUnchangedFiles(), 1);
+				final String json = sum.toJson("g:a:1");
+				expectTrue(json.contains("{ \"name\": \"generate .project\", \"count\": 2, \"millis\": 3.000 }"));
+				expectTrue(json.contains("{ \"name\": \"generate .classpath\", \"count\": 1, \"millis\": 0.500 }"));
+			});
+		});
+
+		section("toJson should", () -> {
+			test("Render an empty phase list", () -> {
+				expectEquals(new GenerationStats().toJson("g:\"a\":1").replace(Util.LINE_SEPARATOR, "\n"),
+						"{\n" +
+								"  \"project\": \"g:\\\"a\\\":1\",\n" +
+								"  \"writtenFiles\": 0,\n" +
+								"  \"unchangedFiles\": 0,\n" +
+								"  \"upToDate\": false,\n" +
+								"  \"phases\": [\n" +
+								"  ]\n" +
+								"}\n");
+			});
+		});
+	}
+
+}
@@ -0,0 +1,106 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+import static de.tobiasroeser.maven.eclipse.TempDir.withTempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class GeneratorInputsStoreTest extends FreeSpec {
+
+	public GeneratorInputsStoreTest() {
+		setExpectFailFast(false);
+
+		section("changes should", () -> {
+			test("Report missing files and inputs", () -> {
+				withTempDir("GeneratorInputsStoreTest", dir -> {
+					final File generated = new File(dir, ".project");
+					final GeneratorInputsStore store = new GeneratorInputsStore(new File(dir, "inputs"),
+							new SystemStreamLog());
+					final GeneratorInputs inputs = new GeneratorInputs().add("name", "a");
+					expectEquals(store.changes(generated, inputs), Arrays.asList("file does not exist"));
+					Files.write(generated.toPath(), new byte[0]);
+					expectEquals(store.changes(generated, inputs), Arrays.asList("no previous inputs recorded"));
+				});
+			});
+			test("Report only the changed inputs of the last saved run", () -> {
+				withTempDir("GeneratorInputsStoreTest", dir -> {
+					final File generated = new File(dir, ".project");
+					Files.write(generated.toPath(), content("project"));
+					final File storeFile = new File(dir, "target/inputs");
+
+					final GeneratorInputsStore first = new GeneratorInputsStore(storeFile, new SystemStreamLog());
+					first.put(generated, new GeneratorInputs().add("name", "a").addAll("natures", Arrays.asList("n")),
+							content("project"));
+					first.save();
+
+					final GeneratorInputsStore second = new GeneratorInputsStore(storeFile, new SystemStreamLog());
+					expectEquals(second.changes(generated,
+							new GeneratorInputs().add("name", "a").addAll("natures", Arrays.asList("n"))),
+							Collections.emptyList());
+					expectEquals(second.changes(generated,
+							new GeneratorInputs().add("name", "b").addAll("natures", Arrays.asList("n"))),
+							Arrays.asList("name changed"));
+					expectEquals(second.getPreviousFiles(), Arrays.asList(generated));
+				});
+			});
+			test("Report hand-edited files", () -> {
+				withTempDir("GeneratorInputsStoreTest", dir -> {
+					final File generated = new File(dir, ".project");
+					Files.write(generated.toPath(), content("project"));
+					final File storeFile = new File(dir, "target/inputs");
+					final GeneratorInputs inputs = new GeneratorInputs().add("name", "a");
+
+					final GeneratorInputsStore first = new GeneratorInputsStore(storeFile, new SystemStreamLog());
+					first.put(generated, inputs, content("project"));
+					first.save();
+					Files.write(generated.toPath(), content("proj"));
+
+					final GeneratorInputsStore second = new GeneratorInputsStore(storeFile, new SystemStreamLog());
+					expectEquals(second.changes(generated, inputs), Arrays.asList("file content changed"));
+					expectEquals(second.getModifiedFiles(), Arrays.asList(generated));
+				});
+			});
+		});
+
+		section("getObsoleteFiles should", () -> {
+			test("Report the files of the last saved run, which were neither generated nor kept", () -> {
+				withTempDir("GeneratorInputsStoreTest", dir -> {
+					final File project = new File(dir, ".project");
+					final File classpath = new File(dir, ".classpath");
+					final File factorypath = new File(dir, ".factorypath");
+					final File storeFile = new File(dir, "target/inputs");
+					final GeneratorInputs inputs = new GeneratorInputs().add("name", "a");
+
+					final GeneratorInputsStore first = new GeneratorInputsStore(storeFile, new SystemStreamLog());
+					for (final File file : Arrays.asList(project, classpath, factorypath)) {
+						first.put(file, inputs, content(file.getName()));
+					}
+					first.save();
+
+					final GeneratorInputsStore second = new GeneratorInputsStore(storeFile, new SystemStreamLog());
+					second.put(project, inputs, content(".project"));
+					second.keep(classpath);
+					expectEquals(second.getObsoleteFiles(), Arrays.asList(factorypath));
+					second.save();
+
+					final GeneratorInputsStore third = new GeneratorInputsStore(storeFile, new SystemStreamLog());
+					expectEquals(new HashSet<>(third.getPreviousFiles()), new HashSet<>(Arrays.asList(project, classpath)));
+				});
+			});
+		});
+	}
+
+	private static byte[] content(final String content) {
+		return content.getBytes(StandardCharsets.UTF_8);
+	}
+
+}
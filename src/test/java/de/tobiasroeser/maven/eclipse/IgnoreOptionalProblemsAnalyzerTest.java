@@ -0,0 +1,62 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class IgnoreOptionalProblemsAnalyzerTest extends FreeSpec {
+
+	public IgnoreOptionalProblemsAnalyzerTest() {
+		setExpectFailFast(false);
+
+		final File basedir = new File("/tmp/project");
+		final Model model = new Model();
+		model.setBuild(new Build());
+		model.getBuild().setDirectory(new File(basedir, "target").getPath());
+		final MavenProject mavenProject = new MavenProject(model);
+		mavenProject.setFile(new File(basedir, "pom.xml"));
+
+		final ProjectConfig.Mutable sources = new ProjectConfig.Mutable()
+				.addSources(Arrays.asList(
+						"/tmp/project/src/main/java",
+						"/tmp/project/src/gen/java",
+						"/tmp/project/target/generated-sources/protobuf",
+						"/tmp/project/target/generated-sources/annotations"))
+				.addTestSources(Arrays.asList("/tmp/project/target/generated-test-sources/test-annotations"));
+
+		section("IgnoreOptionalProblemsAnalyzer should", () -> {
+			test("mark source roots below the build directory", () -> {
+				final ProjectConfig.Mutable builder = new ProjectConfig.Mutable()
+						.addSources(sources.getSources())
+						.addTestSources(sources.getTestSources());
+				new IgnoreOptionalProblemsAnalyzer(new SystemStreamLog(), true, Collections.emptyList())
+						.analyze(builder, mavenProject);
+				expectEquals(builder.build().getIgnoreOptionalProblems(), Arrays.asList(
+						"/tmp/project/target/generated-sources/protobuf",
+						"/tmp/project/target/generated-sources/annotations",
+						"/tmp/project/target/generated-test-sources/test-annotations"));
+			});
+			test("apply include and exclude patterns", () -> {
+				final ProjectConfig.Mutable builder = new ProjectConfig.Mutable()
+						.addSources(sources.getSources())
+						.addTestSources(sources.getTestSources());
+				new IgnoreOptionalProblemsAnalyzer(new SystemStreamLog(), true,
+						Arrays.asList("src/gen/**", "!target/*/*annotations"))
+								.analyze(builder, mavenProject);
+				expectEquals(builder.build().getIgnoreOptionalProblems(), Arrays.asList(
+						"/tmp/project/src/gen/java",
+						"/tmp/project/target/generated-sources/protobuf"));
+			});
+		});
+	}
+
+}
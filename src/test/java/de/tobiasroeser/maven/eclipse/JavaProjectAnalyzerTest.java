@@ -0,0 +1,84 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class JavaProjectAnalyzerTest extends FreeSpec {
+
+	public JavaProjectAnalyzerTest() {
+		setExpectFailFast(false);
+
+		section("JavaProjectAnalyzer should", () -> {
+			test("derive JDT settings from the maven-compiler-plugin", () -> {
+				final Plugin plugin = new Plugin();
+				plugin.setGroupId("org.apache.maven.plugins");
+				plugin.setArtifactId("maven-compiler-plugin");
+				plugin.setConfiguration(Xpp3DomBuilder.build(new StringReader("<configuration>"
+						+ "<release>11</release><source>1.8</source><debuglevel>lines,source</debuglevel>"
+						+ "<compilerArgs><arg>-parameters</arg></compilerArgs></configuration>")));
+				final Model model = new Model();
+				model.setBuild(new Build());
+				model.getBuild().addPlugin(plugin);
+				final MavenProject mavenProject = new MavenProject(model);
+
+				final ProjectConfig.Mutable builder = new ProjectConfig.Mutable();
+				new JavaProjectAnalyzer(new SystemStreamLog(), true).analyze(builder, mavenProject);
+				final ProjectConfig config = builder.build();
+
+				expectEquals(config.getJavaVersion().getOrElse(null), "11");
+				final Map<String, String> expected = new LinkedHashMap<>();
+				expected.put("org.eclipse.jdt.core.compiler.codegen.methodParameters", "generate");
+				expected.put("org.eclipse.jdt.core.compiler.debug.lineNumber", "generate");
+				expected.put("org.eclipse.jdt.core.compiler.debug.localVariable", "do not generate");
+				expected.put("org.eclipse.jdt.core.compiler.debug.sourceFile", "generate");
+				expected.put("org.eclipse.jdt.core.compiler.release", "enabled");
+				expectEquals(config.getJdtSettings(), expected);
+			});
+			test("prefer the compliance level of the aspectj-maven-plugin", () -> {
+				final Plugin compiler = new Plugin();
+				compiler.setGroupId("org.apache.maven.plugins");
+				compiler.setArtifactId("maven-compiler-plugin");
+				compiler.setConfiguration(Xpp3DomBuilder.build(new StringReader(
+						"<configuration><release>11</release></configuration>")));
+				final Plugin aspectj = new Plugin();
+				aspectj.setGroupId("org.codehaus.mojo");
+				aspectj.setArtifactId("aspectj-maven-plugin");
+				aspectj.setConfiguration(Xpp3DomBuilder.build(new StringReader(
+						"<configuration><complianceLevel>8</complianceLevel></configuration>")));
+				final Model model = new Model();
+				model.setBuild(new Build());
+				model.getBuild().addPlugin(compiler);
+				model.getBuild().addPlugin(aspectj);
+				final MavenProject mavenProject = new MavenProject(model);
+
+				final ProjectConfig.Mutable builder = new ProjectConfig.Mutable();
+				new JavaProjectAnalyzer(new SystemStreamLog(), true).analyze(builder, mavenProject);
+				final ProjectConfig config = builder.build();
+
+				expectEquals(config.getJavaVersion().getOrElse(null), "1.8");
+				expectEquals(config.getClasspathContainers(), Arrays.asList("org.eclipse.jdt.launching.JRE_CONTAINER"
+						+ "/org.eclipse.jdt.internal.debug.ui.launcher.StandardVMType/JavaSE-1.8"));
+				expectEquals(config.getJdtSettings().containsKey("org.eclipse.jdt.core.compiler.release"), false);
+			});
+			test("normalize Java versions", () -> {
+				expectEquals(JavaProjectAnalyzer.jdtVersion("8"), "1.8");
+				expectEquals(JavaProjectAnalyzer.jdtVersion("1.7"), "1.7");
+				expectEquals(JavaProjectAnalyzer.jdtVersion("17"), "17");
+			});
+		});
+	}
+
+}
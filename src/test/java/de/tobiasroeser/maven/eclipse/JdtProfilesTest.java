@@ -0,0 +1,35 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class JdtProfilesTest extends FreeSpec {
+
+	public JdtProfilesTest() {
+		setExpectFailFast(false);
+
+		section("JdtProfiles should", () -> {
+			test("know the supported profiles only", () -> {
+				expectEquals(JdtProfiles.settings("none").get().isEmpty(), true);
+				expectEquals(JdtProfiles.settings("fast").get()
+						.get("org.eclipse.jdt.core.compiler.annotation.nullanalysis"), "disabled");
+				expectEquals(JdtProfiles.settings("slow").isDefined(), false);
+			});
+			test("merge settings into a template, keeping the template values", () -> {
+				final Map<String, String> settings = new LinkedHashMap<>();
+				settings.put("a", "profile");
+				settings.put("b", "profile");
+				expectEquals(
+						JdtProfiles.merge(Arrays.asList("# comment", "eclipse.preferences.version=1", "a=template"),
+								settings),
+						Arrays.asList("# comment", "eclipse.preferences.version=1", "a=template", "b=profile"));
+			});
+		});
+	}
+
+}
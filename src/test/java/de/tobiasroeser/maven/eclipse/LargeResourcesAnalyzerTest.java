@@ -0,0 +1,58 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+import static de.tobiasroeser.maven.eclipse.TempDir.withTempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class LargeResourcesAnalyzerTest extends FreeSpec {
+
+	public LargeResourcesAnalyzerTest() {
+		setExpectFailFast(false);
+
+		section("LargeResourcesAnalyzer should", () -> {
+			test("detect large resource directories by size and configuration", () -> {
+				withTempDir("LargeResourcesAnalyzerTest", basedir -> {
+					final File small = new File(basedir, "src/main/resources");
+					final File big = new File(basedir, "src/test/resources");
+					final File fixtures = new File(basedir, "src/test/fixtures");
+					small.mkdirs();
+					big.mkdirs();
+					fixtures.mkdirs();
+					Files.write(new File(small, "a.txt").toPath(), new byte[100]);
+					Files.write(new File(big, "b.bin").toPath(), new byte[2048]);
+
+					final MavenProject mavenProject = new MavenProject(new Model());
+					mavenProject.setFile(new File(basedir, "pom.xml"));
+					final ProjectConfig.Mutable builder = new ProjectConfig.Mutable()
+							.addResources(Arrays.asList(new Resource().withPath(small.getPath())))
+							.addTestResources(Arrays.asList(new Resource().withPath(big.getPath()),
+									new Resource().withPath(fixtures.getPath())));
+
+					new LargeResourcesAnalyzer(new SystemStreamLog(), Arrays.asList("src/test/fixtures"), 1024,
+							Collections.emptyList()).analyze(builder, mavenProject);
+					expectEquals(builder.build().getLargeResources(), Arrays.asList(big.getPath(), fixtures.getPath()));
+				});
+			});
+			test("extend the resource copy exclusion filter", () -> {
+				final MavenProject mavenProject = new MavenProject(new Model());
+				mavenProject.setFile(new File("/tmp/project/pom.xml"));
+				final ProjectConfig.Mutable builder = new ProjectConfig.Mutable();
+				new LargeResourcesAnalyzer(new SystemStreamLog(), Collections.emptyList(), 0,
+						Arrays.asList("*.bin", "*.launch")).analyze(builder, mavenProject);
+				expectEquals(builder.build().getJdtSettings().get(LargeResourcesAnalyzer.RESOURCE_COPY_EXCLUSION_FILTER),
+						"*.launch,*.bin");
+			});
+		});
+	}
+
+}
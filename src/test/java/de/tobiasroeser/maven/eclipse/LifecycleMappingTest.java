@@ -0,0 +1,68 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.project.MavenProject;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class LifecycleMappingTest extends FreeSpec {
+
+	public LifecycleMappingTest() {
+		setExpectFailFast(false);
+
+		section("LifecycleMapping should", () -> {
+			test("collect the bound goals of ignored plugins of all projects", () -> {
+				final MavenProject a = project(
+						plugin("org.apache.maven.plugins", "maven-enforcer-plugin", "enforce"),
+						plugin("org.xolstice.maven.plugins", "protobuf-maven-plugin", "compile"),
+						plugin("org.apache.maven.plugins", "maven-compiler-plugin", "compile"));
+				final MavenProject b = project(
+						plugin("org.apache.maven.plugins", "maven-enforcer-plugin", "display-info"),
+						plugin("com.example", "slow-plugin", "run"));
+
+				final Map<String, Set<String>> executions = new LifecycleMapping(false,
+						Collections.singletonList("com.example:slow-plugin")).ignoredExecutions(Arrays.asList(a, b));
+				expectEquals(executions.keySet(), new TreeSet<>(Arrays.asList(
+						"com.example:slow-plugin", "org.apache.maven.plugins:maven-enforcer-plugin")));
+				expectEquals(executions.get("org.apache.maven.plugins:maven-enforcer-plugin"),
+						new TreeSet<>(Arrays.asList("display-info", "enforce")));
+
+				expectEquals(new LifecycleMapping(true, Collections.emptyList())
+						.ignoredExecutions(Arrays.asList(a)).keySet(),
+						new TreeSet<>(Arrays.asList("org.apache.maven.plugins:maven-enforcer-plugin",
+								"org.xolstice.maven.plugins:protobuf-maven-plugin")));
+			});
+		});
+	}
+
+	private static Plugin plugin(final String groupId, final String artifactId, final String goal) {
+		final Plugin plugin = new Plugin();
+		plugin.setGroupId(groupId);
+		plugin.setArtifactId(artifactId);
+		final PluginExecution execution = new PluginExecution();
+		execution.addGoal(goal);
+		plugin.addExecution(execution);
+		return plugin;
+	}
+
+	private static MavenProject project(final Plugin... plugins) {
+		final Model model = new Model();
+		model.setBuild(new Build());
+		for (final Plugin plugin : plugins) {
+			model.getBuild().addPlugin(plugin);
+		}
+		return new MavenProject(model);
+	}
+
+}
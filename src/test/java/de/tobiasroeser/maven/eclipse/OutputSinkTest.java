@@ -0,0 +1,58 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+import static de.tobiasroeser.maven.eclipse.TempDir.withTempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class OutputSinkTest extends FreeSpec {
+
+	public OutputSinkTest() {
+		setExpectFailFast(false);
+
+		section("flush should", () -> {
+			test("Write all files and create missing directories", () -> {
+				withTempDir("OutputSinkTest", dir -> {
+					final GenerationStats stats = new GenerationStats();
+					final OutputSink sink = new OutputSink(new SystemStreamLog(), stats, false, true, true);
+					sink.add(new File(dir, ".project"), "project".getBytes(StandardCharsets.UTF_8));
+					sink.add(new File(dir, ".settings/a.prefs"), "a=1".getBytes(StandardCharsets.UTF_8));
+					sink.flush();
+					expectEquals(stats.getWrittenFiles(), 2);
+					expectEquals(Files.readAllLines(new File(dir, ".settings/a.prefs").toPath()), Arrays.asList("a=1"));
+					expectEquals(new File(dir, ".settings").list().length, 1);
+				});
+			});
+			test("Skip unchanged files", () -> {
+				withTempDir("OutputSinkTest", dir -> {
+					final File file = new File(dir, ".project");
+					Files.write(file.toPath(), "project".getBytes(StandardCharsets.UTF_8));
+					final GenerationStats stats = new GenerationStats();
+					final OutputSink sink = new OutputSink(new SystemStreamLog(), stats, false, true, false);
+					sink.add(file, "project".getBytes(StandardCharsets.UTF_8));
+					sink.add(new File(dir, ".classpath"), "classpath".getBytes(StandardCharsets.UTF_8));
+					sink.flush();
+					expectEquals(stats.getUnchangedFiles(), 1);
+					expectEquals(stats.getWrittenFiles(), 1);
+				});
+			});
+			test("Write nothing in dryrun mode", () -> {
+				withTempDir("OutputSinkTest", dir -> {
+					final GenerationStats stats = new GenerationStats();
+					final OutputSink sink = new OutputSink(new SystemStreamLog(), stats, true, true, false);
+					sink.add(new File(dir, ".project"), "project".getBytes(StandardCharsets.UTF_8));
+					sink.flush();
+					expectEquals(dir.list().length, 0);
+				});
+			});
+		});
+	}
+
+}
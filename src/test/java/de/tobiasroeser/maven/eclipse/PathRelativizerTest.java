@@ -0,0 +1,60 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+import static de.tobiasroeser.maven.eclipse.TempDir.withTempDir;
+
+import java.io.File;
+import java.util.Arrays;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class PathRelativizerTest extends FreeSpec {
+
+	public PathRelativizerTest() {
+		setExpectFailFast(false);
+
+		final File basedir = new File("/tmp/basedir");
+		final PathRelativizer relativizer = new PathRelativizer(basedir);
+
+		section("relativePath should", () -> {
+			test("Cut not a single path '/'", () -> {
+				expectEquals(relativizer.relativePath("/"), "/");
+			});
+			test("Cut the last '/' of " + basedir + "/target/", () -> {
+				expectEquals(relativizer.relativePath(basedir + "/target/"), "target");
+			});
+			test("Cut the last '/' of /tmp/", () -> {
+				expectEquals(relativizer.relativePath("/tmp/"), "/tmp");
+			});
+			test("Remove the shared path prefix", () -> {
+				expectEquals(relativizer.relativePath(basedir + "/target"), "target");
+			});
+			test("Preserve a relative path", () -> {
+				expectEquals(relativizer.relativePath("src/main/aspectj"), "src/main/aspectj");
+			});
+			test("Return the same results as Util.relativePath", () -> {
+				withTempDir("PathRelativizerTest", existingBasedir -> {
+					new File(existingBasedir, "src/main/java").mkdirs();
+					final PathRelativizer existing = new PathRelativizer(existingBasedir);
+					for (final String path : Arrays.asList(
+							existingBasedir.getPath(),
+							existingBasedir + "/",
+							existingBasedir + "/src/main/java",
+							existingBasedir + "/src/main/java/",
+							existingBasedir + "/src/../target/classes",
+							existingBasedir + "//target//generated-sources",
+							existingBasedir + "-other/src",
+							existingBasedir.getParent(),
+							"/",
+							"src/main/java/",
+							"target")) {
+						expectEquals(existing.relativePath(path), Util.relativePath(existingBasedir, path));
+						// cached
+						expectEquals(existing.relativePath(path), Util.relativePath(existingBasedir, path));
+					}
+				});
+			});
+		});
+
+	}
+}
@@ -0,0 +1,47 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+
+import java.io.StringReader;
+import java.util.Arrays;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class PluginConfigurationTest extends FreeSpec {
+
+	public PluginConfigurationTest() {
+		setExpectFailFast(false);
+
+		section("PluginConfiguration should", () -> {
+			test("prefer execution configuration over plugin configuration", () -> {
+				final Plugin plugin = new Plugin();
+				plugin.setConfiguration(dom("<configuration><scalaVersion>2.11</scalaVersion>"
+						+ "<recompileMode>all</recompileMode></configuration>"));
+				final PluginExecution execution = new PluginExecution();
+				execution.setConfiguration(dom("<configuration><scalaVersion> 2.12.4 </scalaVersion></configuration>"));
+				plugin.addExecution(execution);
+
+				final PluginConfiguration config = new PluginConfiguration(plugin);
+				expectEquals(config.getValue("scalaVersion").getOrElse(null), "2.12.4");
+				expectEquals(config.getValue("recompileMode").getOrElse(null), "all");
+				expectEquals(config.getValue("missing").isDefined(), false);
+			});
+			test("read the values of list parameters", () -> {
+				final Plugin plugin = new Plugin();
+				plugin.setConfiguration(dom("<configuration><args><arg>-feature</arg><arg> </arg>"
+						+ "<arg>-Xlint</arg></args></configuration>"));
+				expectEquals(new PluginConfiguration(plugin).getValues("args"), Arrays.asList("-feature", "-Xlint"));
+			});
+		});
+	}
+
+	private static Xpp3Dom dom(final String xml) throws Exception {
+		return Xpp3DomBuilder.build(new StringReader(xml));
+	}
+
+}
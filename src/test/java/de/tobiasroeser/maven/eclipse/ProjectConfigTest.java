@@ -1,6 +1,11 @@
 package de.tobiasroeser.maven.eclipse;
 
 import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+import static de.tototec.utils.functional.FList.map;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 
 import de.tobiasroeser.lambdatest.junit.FreeSpec;
 
@@ -22,5 +27,56 @@ public class ProjectConfigTest extends FreeSpec {
 			});
 		});
 
+		section("ProjectConfig.Mutable should", () -> {
+
+			test("keep the insertion order and ignore duplicates", () -> {
+				final ProjectConfig config = new ProjectConfig.Mutable()
+						.addSources(Arrays.asList("src/main/java", "src/main/scala"))
+						.addSources(Arrays.asList("target/generated-sources", "src/main/java"))
+						.build();
+				expectEquals(config.getSources(),
+						Arrays.asList("src/main/java", "src/main/scala", "target/generated-sources"));
+			});
+
+			test("prepend natures", () -> {
+				final Nature java = new Nature("java", "");
+				final Nature scala = new Nature("scala", "");
+				final ProjectConfig config = new ProjectConfig.Mutable()
+						.addNature(java)
+						.prependNature(scala)
+						.prependNature(java)
+						.build();
+				expectEquals(map(config.getNatures(), n -> n.getName()), Arrays.asList("java", "scala"));
+			});
+
+			test("not change already built configs", () -> {
+				final ProjectConfig.Mutable builder = new ProjectConfig.Mutable()
+						.addTestSources(Arrays.asList("src/test/java"));
+				final ProjectConfig config = builder.build();
+				builder.addTestSources(Arrays.asList("src/test/scala"));
+				expectEquals(config.getTestSources(), Arrays.asList("src/test/java"));
+			});
+
+			test("prefer non-test over test classpath projects", () -> {
+				final ProjectConfig config = new ProjectConfig.Mutable()
+						.addClasspathProjects(Arrays.asList(new ProjectReference("a", true), new ProjectReference("b", true)))
+						.addClasspathProjects(Arrays.asList(new ProjectReference("a", false)))
+						.build();
+				expectEquals(config.getClasspathProjects(),
+						Arrays.asList(new ProjectReference("a", false), new ProjectReference("b", true)));
+			});
+
+			test("collect dependency attributes per dependency", () -> {
+				final ProjectConfig.Mutable builder = new ProjectConfig.Mutable()
+						.addDependencyAttribute("g:a", "aspectpath", "true")
+						.addDependencyAttribute("g:a", "inpath", "true");
+				final ProjectConfig config = builder.build();
+				builder.addDependencyAttribute("g:b", "inpath", "true");
+				expectEquals(config.getDependencyAttributes().keySet(), Collections.singleton("g:a"));
+				expectEquals(config.getDependencyAttributes().get("g:a").keySet(),
+						new LinkedHashSet<>(Arrays.asList("aspectpath", "inpath")));
+			});
+		});
+
 	}
 }
@@ -0,0 +1,53 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class ResourceFilterAnalyzerTest extends FreeSpec {
+
+	public ResourceFilterAnalyzerTest() {
+		setExpectFailFast(false);
+
+		final File basedir = new File("/tmp/project");
+		final Model model = new Model();
+		model.setBuild(new Build());
+		model.getBuild().setDirectory(new File(basedir, "target").getPath());
+		final MavenProject mavenProject = new MavenProject(model);
+		mavenProject.setFile(new File(basedir, "pom.xml"));
+
+		section("ResourceFilterAnalyzer should", () -> {
+			test("filter the build directory except output and source directories", () -> {
+				final ProjectConfig.Mutable builder = new ProjectConfig.Mutable()
+						.addSources(Arrays.asList("/tmp/project/src/main/java",
+								"/tmp/project/target/generated-sources/annotations"));
+				new ResourceFilterAnalyzer(new SystemStreamLog(),
+						Arrays.asList("/tmp/project/target/classes", "/tmp/project/target/test-classes"),
+						Arrays.asList("src/test/fixtures", "*.log"))
+								.analyze(builder, mavenProject);
+				expectEquals(builder.build().getResourceFilters(), Arrays.asList(
+						new ResourceFilter("target", 14, "(?!(classes|generated-sources|generated-test-sources|test-classes)$).*", true),
+						new ResourceFilter("", 26, "node_modules", false),
+						new ResourceFilter("src/test", 14, "fixtures", false),
+						new ResourceFilter("", 30, "*.log", false)));
+			});
+			test("keep only the generated directories if the output is elsewhere", () -> {
+				final ProjectConfig.Mutable builder = new ProjectConfig.Mutable();
+				new ResourceFilterAnalyzer(new SystemStreamLog(), Arrays.asList("target-ide"),
+						Collections.emptyList()).analyze(builder, mavenProject);
+				expectEquals(builder.build().getResourceFilters().get(0),
+						new ResourceFilter("target", 14, "(?!(generated-sources|generated-test-sources)$).*", true));
+			});
+		});
+	}
+
+}
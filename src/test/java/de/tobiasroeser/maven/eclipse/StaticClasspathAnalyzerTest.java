@@ -0,0 +1,142 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+import static de.tobiasroeser.maven.eclipse.TempDir.withTempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.DependencyResolutionRequest;
+import org.apache.maven.project.DependencyResolutionResult;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.internal.impl.SimpleLocalRepositoryManagerFactory;
+import org.eclipse.aether.repository.LocalRepository;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+import de.tototec.utils.functional.Optional;
+
+public class StaticClasspathAnalyzerTest extends FreeSpec {
+
+	public StaticClasspathAnalyzerTest() {
+		setExpectFailFast(false);
+
+		section("StaticClasspathAnalyzer should", () -> {
+			test("add resolved dependencies as libraries and reactor dependencies as projects", () -> {
+				withTempDir("StaticClasspathAnalyzerTest", localRepo -> {
+					final DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+					repositorySession.setLocalRepositoryManager(new SimpleLocalRepositoryManagerFactory()
+							.newInstance(repositorySession, new LocalRepository(localRepo)));
+
+					final File guava = jar(localRepo, "com/google/guava/guava/20.0/guava-20.0.jar");
+					final File guavaSources = jar(localRepo, "com/google/guava/guava/20.0/guava-20.0-sources.jar");
+					final File junit = jar(localRepo, "junit/junit/4.12/junit-4.12.jar");
+
+					final MavenProject project = project("app");
+					final MavenProject module = project("module");
+					final MavenSession session = new MavenSession(null, repositorySession,
+							new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+					session.setProjects(Arrays.asList(project, module));
+
+					final Dependency guavaDependency = dependency("com.google.guava:guava:20.0", guava, "compile");
+					final Dependency junitDependency = dependency("junit:junit:4.12", junit, "test");
+					final Dependency moduleDependency = dependency("com.example:module:1.0", null, "test");
+
+					final DefaultDependencyNode moduleNode = new DefaultDependencyNode(moduleDependency);
+					moduleNode.setChildren(Arrays.asList(new DefaultDependencyNode(guavaDependency)));
+					final DefaultDependencyNode root = new DefaultDependencyNode((Dependency) null);
+					root.setChildren(Arrays.asList(moduleNode, new DefaultDependencyNode(junitDependency)));
+
+					final DependencyResolutionRequest[] request = new DependencyResolutionRequest[1];
+					final StaticClasspathAnalyzer analyzer = new StaticClasspathAnalyzer(new SystemStreamLog(),
+							session, r -> {
+								request[0] = r;
+								return new Result(root, Arrays.asList(guavaDependency, junitDependency));
+							});
+					final ProjectConfig.Mutable builder = new ProjectConfig.Mutable();
+					analyzer.analyze(builder, project);
+					final ProjectConfig config = builder.build();
+
+					expectEquals(request[0].getResolutionFilter().accept(moduleNode, Collections.emptyList()), false);
+					expectEquals(request[0].getResolutionFilter().accept(new DefaultDependencyNode(guavaDependency),
+							Collections.emptyList()), true);
+					expectEquals(config.getClasspathProjects(), Collections.singletonList(
+							new ProjectReference("module", true, Optional.some("com.example:module"))));
+					expectEquals(config.getLibraries(), Arrays.asList(
+							new Library(guava.getAbsolutePath(), Optional.some(guavaSources.getAbsolutePath()), false,
+									Optional.some("com.google.guava:guava")),
+							new Library(junit.getAbsolutePath(), Optional.none(), true,
+									Optional.some("junit:junit"))));
+				});
+			});
+		});
+	}
+
+	private static File jar(final File localRepo, final String path) throws Exception {
+		final File file = new File(localRepo, path);
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), new byte[0]);
+		return file;
+	}
+
+	private static MavenProject project(final String artifactId) {
+		final Model model = new Model();
+		model.setGroupId("com.example");
+		model.setArtifactId(artifactId);
+		model.setVersion("1.0");
+		return new MavenProject(model);
+	}
+
+	private static Dependency dependency(final String coords, final File file, final String scope) {
+		return new Dependency(new DefaultArtifact(coords).setFile(file), scope);
+	}
+
+	private static class Result implements DependencyResolutionResult {
+
+		private final DependencyNode graph;
+		private final List<Dependency> dependencies;
+
+		public Result(final DependencyNode graph, final List<Dependency> dependencies) {
+			this.graph = graph;
+			this.dependencies = dependencies;
+		}
+
+		public DependencyNode getDependencyGraph() {
+			return graph;
+		}
+
+		public List<Dependency> getDependencies() {
+			return dependencies;
+		}
+
+		public List<Dependency> getResolvedDependencies() {
+			return dependencies;
+		}
+
+		public List<Dependency> getUnresolvedDependencies() {
+			return Collections.emptyList();
+		}
+
+		public List<Exception> getCollectionErrors() {
+			return Collections.emptyList();
+		}
+
+		public List<Exception> getResolutionErrors(final Dependency dependency) {
+			return Collections.emptyList();
+		}
+
+	}
+
+}
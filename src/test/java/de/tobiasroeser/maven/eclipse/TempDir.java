@@ -0,0 +1,46 @@
+package de.tobiasroeser.maven.eclipse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Temporary directories for tests, which are deleted with all their contents
+ * after use.
+ */
+public class TempDir {
+
+	public interface Body {
+		void apply(File dir) throws Exception;
+	}
+
+	public static void withTempDir(final String prefix, final Body body) throws Exception {
+		final Path dir = Files.createTempDirectory(prefix);
+		try {
+			body.apply(dir.toFile());
+		} finally {
+			delete(dir);
+		}
+	}
+
+	public static void delete(final Path dir) throws IOException {
+		Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(final Path d, final IOException e) throws IOException {
+				Files.delete(d);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+}
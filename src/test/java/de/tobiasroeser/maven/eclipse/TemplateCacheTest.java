@@ -0,0 +1,55 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+import static de.tobiasroeser.lambdatest.Expect.expectTrue;
+import static de.tobiasroeser.maven.eclipse.TempDir.withTempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class TemplateCacheTest extends FreeSpec {
+
+	public TemplateCacheTest() {
+		setExpectFailFast(false);
+
+		section("load should", () -> {
+			test("Read each unchanged file only once", () -> {
+				withTempDir("TemplateCacheTest", dir -> {
+					final File file = new File(dir, "a.prefs");
+					Files.write(file.toPath(), Arrays.asList("a=1"));
+					final TemplateCache cache = new TemplateCache();
+					final List<String> first = cache.load(file);
+					expectEquals(first, Arrays.asList("a=1"));
+					expectTrue(cache.load(file) == first);
+				});
+			});
+			test("Re-read changed files", () -> {
+				withTempDir("TemplateCacheTest", dir -> {
+					final File file = new File(dir, "a.prefs");
+					Files.write(file.toPath(), Arrays.asList("a=1"));
+					final TemplateCache cache = new TemplateCache();
+					cache.load(file);
+					Files.write(file.toPath(), Arrays.asList("a=12"));
+					expectEquals(cache.load(file), Arrays.asList("a=12"));
+				});
+			});
+			test("Keep the order of the given files", () -> {
+				withTempDir("TemplateCacheTest", dir -> {
+					final File a = new File(dir, "a.prefs");
+					final File b = new File(dir, "b.prefs");
+					Files.write(a.toPath(), Arrays.asList("a=1"));
+					Files.write(b.toPath(), Arrays.asList("b=1"));
+					final Map<File, List<String>> contents = new TemplateCache().load(Arrays.asList(b, a));
+					expectEquals(contents.keySet().iterator().next(), b);
+					expectEquals(contents.get(a), Arrays.asList("a=1"));
+				});
+			});
+		});
+	}
+
+}
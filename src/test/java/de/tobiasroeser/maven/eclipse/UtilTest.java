@@ -3,6 +3,8 @@ package de.tobiasroeser.maven.eclipse;
 import static de.tobiasroeser.lambdatest.Expect.expectEquals;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import de.tobiasroeser.lambdatest.junit.FreeSpec;
 
@@ -35,5 +37,26 @@ public class UtilTest extends FreeSpec {
 			});
 		});
 
+		section("hasContent should", () -> {
+			test("detect equal and changed content", () -> {
+				final File file = File.createTempFile("UtilTest", ".txt");
+				file.deleteOnExit();
+				Util.writeAtomically(file, "content".getBytes(StandardCharsets.UTF_8));
+				expectEquals(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8), "content");
+				expectEquals(Util.hasContent(file, "content".getBytes(StandardCharsets.UTF_8)), true);
+				expectEquals(Util.hasContent(file, "contenT".getBytes(StandardCharsets.UTF_8)), false);
+				expectEquals(Util.hasContent(file, "other content".getBytes(StandardCharsets.UTF_8)), false);
+			});
+			test("report missing files as changed", () -> {
+				expectEquals(Util.hasContent(new File("/tmp/basedir/missing"), new byte[0]), false);
+			});
+		});
+
+		section("escapePrefValue should", () -> {
+			test("escape like java.util.Properties", () -> {
+				expectEquals(Util.escapePrefValue(" -Xsource:2.11 -P:a=b"), "\\ -Xsource\\:2.11 -P\\:a\\=b");
+			});
+		});
+
 	}
 }
@@ -0,0 +1,48 @@
+package de.tobiasroeser.maven.eclipse;
+
+import static de.tobiasroeser.lambdatest.Expect.expectEquals;
+
+import de.tobiasroeser.lambdatest.junit.FreeSpec;
+
+public class XmlWriterTest extends FreeSpec {
+
+	public XmlWriterTest() {
+		setExpectFailFast(false);
+
+		final String nl = Util.LINE_SEPARATOR;
+
+		section("XmlWriter should", () -> {
+
+			test("write elements without attributes with start and end tag", () -> {
+				final StringBuilder out = new StringBuilder();
+				new XmlWriter(out).startElement("a").startElement("b").endElement().endElement();
+				expectEquals(out.toString(), "<a>" + nl + "\t<b>" + nl + "\t</b>" + nl + "</a>" + nl);
+			});
+
+			test("write elements with attributes but without content as self-closing tag", () -> {
+				final StringBuilder out = new StringBuilder();
+				new XmlWriter(out).startElement("a").attribute("x", "1").endElement();
+				expectEquals(out.toString(), "<a x=\"1\"/>" + nl);
+			});
+
+			test("write text elements", () -> {
+				final StringBuilder out = new StringBuilder();
+				new XmlWriter(out).startElement("a").element("name", "value").endElement();
+				expectEquals(out.toString(), "<a>" + nl + "\t<name>value</name>" + nl + "</a>" + nl);
+			});
+
+			test("escape attribute values", () -> {
+				final StringBuilder out = new StringBuilder();
+				new XmlWriter(out).startElement("a").attribute("path", "a&b<c>\"d\"").endElement();
+				expectEquals(out.toString(), "<a path=\"a&amp;b&lt;c&gt;&quot;d&quot;\"/>" + nl);
+			});
+
+			test("escape text but not quotes", () -> {
+				final StringBuilder out = new StringBuilder();
+				new XmlWriter(out).element("name", "Tom & \"Jerry\" <3");
+				expectEquals(out.toString(), "<name>Tom &amp; \"Jerry\" &lt;3</name>" + nl);
+			});
+		});
+
+	}
+}